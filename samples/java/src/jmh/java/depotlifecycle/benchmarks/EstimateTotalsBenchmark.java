@@ -0,0 +1,49 @@
+package depotlifecycle.benchmarks;
+
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.domain.EstimateLineItemParty;
+import depotlifecycle.domain.EstimateTotals;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EstimateTotalsBenchmark {
+    @Param({"10", "50", "200", "500"})
+    int lineItems;
+
+    Estimate estimate;
+
+    @Setup
+    public void setup() {
+        estimate = Fixtures.estimate(lineItems);
+    }
+
+    @Benchmark
+    public void lineItemTotals(Blackhole blackhole) {
+        for (EstimateLineItem lineItem : estimate.getLineItems()) {
+            blackhole.consume(lineItem.getTotal());
+        }
+    }
+
+    @Benchmark
+    public void partyTotals(Blackhole blackhole) {
+        blackhole.consume(estimate.getPartyTotal(EstimateLineItemParty.O));
+        blackhole.consume(estimate.getPartyTotal(EstimateLineItemParty.I));
+        blackhole.consume(estimate.getPartyTotal(EstimateLineItemParty.U));
+    }
+
+    @Benchmark
+    public EstimateTotals computeTotals() {
+        return estimate.computeTotals();
+    }
+
+    @Benchmark
+    public EstimateTotals computeTotalsExact() {
+        return EstimateTotals.exact(estimate.getLineItems());
+    }
+}
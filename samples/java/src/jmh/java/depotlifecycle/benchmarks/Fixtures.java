@@ -0,0 +1,190 @@
+package depotlifecycle.benchmarks;
+
+import depotlifecycle.commands.EstimateCreateCommand;
+import depotlifecycle.commands.PartyCommand;
+import depotlifecycle.domain.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Message graphs shaped like the ones the api receives, mirroring the sample data loaded by the application.
+ */
+final class Fixtures {
+    private static final EstimateLineItemParty[] PARTIES = {EstimateLineItemParty.O, EstimateLineItemParty.U, EstimateLineItemParty.I};
+    private static final EstimateTaxRule[] TAX_RULES = EstimateTaxRule.values();
+    private static final ZonedDateTime TIME = ZonedDateTime.of(2024, 4, 10, 19, 37, 4, 0, ZoneOffset.UTC);
+
+    private Fixtures() {
+    }
+
+    static Party party(String companyId, String name) {
+        Party party = new Party();
+        party.setCompanyId(companyId);
+        party.setUserCode("JDOE");
+        party.setUserName("John Doe");
+        party.setCode(companyId.substring(2, 6));
+        party.setName(name);
+        return party;
+    }
+
+    static Estimate estimate(int lineItemCount) {
+        Estimate estimate = new Estimate();
+        estimate.setEstimateNumber("DEHAMCE1856373");
+        estimate.setUnitNumber("CONU1234561");
+        estimate.setCondition(EstimateCondition.D);
+        estimate.setEstimateTime(TIME);
+        estimate.setDepot(party("DEHAMCMRA", "Depot Operator #1"));
+        estimate.setOwner(party("USSFOEXAM", "Example Lessor Name"));
+        estimate.setCustomer(party("GBLONCUST", "Example Customer"));
+        estimate.setCurrency("EUR");
+        estimate.setExchangeRate(new BigDecimal("0.8133"));
+        estimate.setRevision(0);
+
+        for (int line = 1; line <= lineItemCount; line++) {
+            EstimateLineItem lineItem = new EstimateLineItem();
+            lineItem.setLine(line);
+            lineItem.setRepair("PA");
+            lineItem.setDamage("DT");
+            lineItem.setMaterial("MS");
+            lineItem.setComponent("PAA");
+            lineItem.setLocation("DB1N");
+            lineItem.setLength(20);
+            lineItem.setWidth(20);
+            lineItem.setUnitOfMeasure(UnitOfMeasure.CMT);
+            lineItem.setHours(new BigDecimal("0.5").add(BigDecimal.valueOf(line % 7, 1)));
+            lineItem.setMaterialCost(new BigDecimal("12.45").add(BigDecimal.valueOf(line % 13)));
+            lineItem.setLaborRate(new BigDecimal("35.00"));
+            lineItem.setParty(PARTIES[line % PARTIES.length]);
+            lineItem.setTaxRule(TAX_RULES[line % TAX_RULES.length]);
+            lineItem.setQuantity(1);
+            if (line % 5 == 0) {
+                EstimateLineItemPart part = new EstimateLineItemPart();
+                part.setDescription("Door gasket");
+                part.setNumber("DG-" + line);
+                part.setQuantity(1);
+                part.setPrice(new BigDecimal("48.10"));
+                lineItem.getParts().add(part);
+            }
+            estimate.getLineItems().add(lineItem);
+        }
+
+        estimate.setTotal(estimate.computeTotals().getLineItemTotal());
+        return estimate;
+    }
+
+    static Release release() {
+        Party depot = party("DEHAMCMRA", "Depot Operator #1");
+        Party customer = party("GBLONCUST", "Example Customer");
+
+        Release release = new Release();
+        release.setStatus(ReleaseStatus.APPROVED);
+        release.setReleaseNumber("RHAMG134512");
+        release.setType(ReleaseType.BOOK);
+        release.setApprovalDate(TIME.minusDays(5));
+        release.setExpirationDate(TIME.plusMonths(4));
+        release.setComments(List.of("an example release level comment"));
+        release.setDepot(depot);
+        release.setOwner(party("USSFOEXAM", "Example Lessor Name"));
+        release.setRecipient(depot);
+        release.setQuantity(1);
+
+        ReleaseDetail unitDetail = new ReleaseDetail();
+        unitDetail.setCustomer(customer);
+        unitDetail.setContract("EXCUST01-100000");
+        unitDetail.setEquipment("42G1");
+        unitDetail.setGrade("IICL");
+        unitDetail.setQuantity(2);
+
+        ReleaseUnit unit1 = new ReleaseUnit();
+        unit1.setUnitNumber("CONU1234561");
+        unit1.setComments(List.of("Example unit comment #1."));
+        unit1.setStatus(ReleaseUnitStatus.TIED);
+
+        ReleaseUnit unit2 = new ReleaseUnit();
+        unit2.setUnitNumber("CONU1234526");
+        unit2.setComments(List.of("Example unit comment #2."));
+        unit2.setStatus(ReleaseUnitStatus.TIED);
+        unit2.setManufactureDate(LocalDate.of(2012, 1, 1));
+
+        unitDetail.getUnits().add(unit1);
+        unitDetail.getUnits().add(unit2);
+        release.getDetails().add(unitDetail);
+        return release;
+    }
+
+    static Redelivery redelivery() {
+        Party depot = party("DEHAMCMRA", "Depot Operator #1");
+        Party customer = party("GBLONCUST", "Example Customer");
+
+        Redelivery redelivery = new Redelivery();
+        redelivery.setStatus(RedeliveryStatus.APPROVED);
+        redelivery.setRedeliveryNumber("AHAMG33141");
+        redelivery.setApprovalDate(TIME.minusDays(5));
+        redelivery.setExpirationDate(TIME.plusMonths(4));
+        redelivery.setComments(List.of("an example redelivery level comment"));
+        redelivery.setDepot(depot);
+        redelivery.setRecipient(depot);
+        redelivery.setOwner(party("USSFOEXAM", "Example Lessor Name"));
+        redelivery.setQuantity(2);
+
+        InsuranceCoverage coverage = new InsuranceCoverage();
+        coverage.setAmountCovered(new BigDecimal("2000.0"));
+        coverage.setAmountCurrency("USD");
+        coverage.setAllOrNothing(false);
+        coverage.setExceptions(Arrays.asList("Exception #1", "Exception #2"));
+        coverage.setExclusions(Arrays.asList("Exclusion #1", "Exclusion #2"));
+        coverage.setInclusions(Arrays.asList("Inclusion #1", "Inclusion #2"));
+
+        RedeliveryDetail detail = new RedeliveryDetail();
+        detail.setCustomer(customer);
+        detail.setContract("EXCUST01-100000");
+        detail.setEquipment("22G2");
+        detail.setGrade("IICL");
+        detail.setInsuranceCoverage(coverage);
+        detail.setQuantity(2);
+
+        RedeliveryUnit unit1 = new RedeliveryUnit();
+        unit1.setUnitNumber("CONU1234561");
+        unit1.setManufactureDate(LocalDate.of(2012, 1, 1));
+        unit1.setLastOnHireDate(LocalDate.of(2012, 2, 1));
+        unit1.setLastOnHireLocation(party("DEHAMCMRB", "Depot Operator #2"));
+        unit1.setComments(List.of("Example unit comment #1."));
+        unit1.setBillingParty(depot);
+        unit1.setInspectionCriteria("IICL");
+        unit1.setStatus(RedeliveryUnitStatus.TIED);
+
+        RedeliveryUnit unit2 = new RedeliveryUnit();
+        unit2.setUnitNumber("CONU1234526");
+        unit2.setManufactureDate(LocalDate.of(2012, 1, 1));
+        unit2.setComments(List.of("Example unit comment #2."));
+        unit2.setBillingParty(depot);
+        unit2.setInspectionCriteria("CWCA");
+        unit2.setStatus(RedeliveryUnitStatus.TIED);
+
+        detail.getUnits().add(unit1);
+        detail.getUnits().add(unit2);
+        redelivery.getDetails().add(detail);
+        return redelivery;
+    }
+
+    static EstimateCreateCommand estimateCreateCommand() {
+        PartyCommand depot = new PartyCommand();
+        depot.setCompanyId("DEHAMCMRA");
+        depot.setName("Depot Operator #1");
+
+        EstimateCreateCommand command = new EstimateCreateCommand();
+        command.setEstimateNumber("DEHAMCE1856373");
+        command.setUnitNumber("CONU1234561");
+        command.setCondition(EstimateCondition.D);
+        command.setEstimateTime(TIME);
+        command.setDepot(depot);
+        command.setCurrency("EUR");
+        command.setTotal(new BigDecimal("1151.84"));
+        return command;
+    }
+}
@@ -0,0 +1,104 @@
+package depotlifecycle.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The natural key lookups made by the repositories, against gate and estimate tables of a million rows shaped like the
+ * generated schema, with and without the indexes declared on the entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class LookupBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    @Param({"true", "false"})
+    boolean indexed;
+
+    Connection connection;
+    PreparedStatement gateExists;
+    PreparedStatement estimateExists;
+    PreparedStatement partyByCompanyId;
+    int next;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:lookupBenchmark" + indexed + ";DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table party (id bigint primary key, company_id varchar(9) not null, name varchar(150))");
+            statement.execute("create table gate_create_request (id bigint primary key, advice_number varchar(16) not null, depot_id bigint not null, unit_number varchar(11) not null, type varchar(3) not null, status varchar(1) not null)");
+            statement.execute("create table estimate (id bigint primary key, estimate_number varchar(16) not null, depot_id bigint not null, revision integer, unit_number varchar(11) not null)");
+
+            statement.execute("insert into party select x, 'DEHAM' || lpad(x, 4, '0'), 'Depot ' || x from system_range(1, 1000)");
+            statement.execute("insert into gate_create_request select x, 'AHAMG' || lpad(x / 2, 6, '0'), mod(x, 1000) + 1, 'CONU' || lpad(x, 7, '0'), case when mod(x, 2) = 0 then 'IN' else 'OUT' end, 'A' from system_range(1, " + ROWS + ")");
+            statement.execute("insert into estimate select x, 'DEHAMCE' || lpad(x, 7, '0'), mod(x, 1000) + 1, 0, 'CONU' || lpad(x, 7, '0') from system_range(1, " + ROWS + ")");
+
+            if (indexed) {
+                statement.execute("alter table party add constraint uk_party_company_id unique (company_id)");
+                statement.execute("create index idx_gate_create_request_lookup on gate_create_request (advice_number, unit_number, type)");
+                statement.execute("create index idx_estimate_lookup on estimate (estimate_number, depot_id, revision)");
+            }
+            statement.execute("analyze");
+        }
+
+        gateExists = connection.prepareStatement("select 1 from gate_create_request where advice_number = ? and unit_number = ? and type = ? limit 1");
+        estimateExists = connection.prepareStatement("select 1 from estimate where estimate_number = ? and depot_id = ? limit 1");
+        partyByCompanyId = connection.prepareStatement("select id, company_id, name from party where company_id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects delete files");
+        }
+        connection.close();
+    }
+
+    /**
+     * @return a row that exists, spread across the table so no one page stays cached
+     */
+    private int row() {
+        next = (next + 7919) % ROWS;
+        return next + 1;
+    }
+
+    @Benchmark
+    public boolean existsByAdviceNumberAndUnitNumberAndType() throws SQLException {
+        int row = row();
+        gateExists.setString(1, String.format("AHAMG%06d", row / 2));
+        gateExists.setString(2, String.format("CONU%07d", row));
+        gateExists.setString(3, row % 2 == 0 ? "IN" : "OUT");
+        try (ResultSet rs = gateExists.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    @Benchmark
+    public boolean existsByEstimateNumberAndDepot() throws SQLException {
+        int row = row();
+        estimateExists.setString(1, String.format("DEHAMCE%07d", row));
+        estimateExists.setLong(2, row % 1000 + 1);
+        try (ResultSet rs = estimateExists.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    @Benchmark
+    public boolean findByCompanyId() throws SQLException {
+        int row = row();
+        partyByCompanyId.setString(1, String.format("DEHAM%04d", row % 1000 + 1));
+        try (ResultSet rs = partyByCompanyId.executeQuery()) {
+            return rs.next();
+        }
+    }
+}
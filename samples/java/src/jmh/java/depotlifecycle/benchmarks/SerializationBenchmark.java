@@ -0,0 +1,101 @@
+package depotlifecycle.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.Release;
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the api message graphs with the object mapper configured by the application's own application.yml.  The
+ * pretty benchmarks measure the indented output api responses used by default before it was made opt in; the response
+ * sizes of both are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    ApplicationContext context;
+    ObjectMapper objectMapper;
+    ObjectWriter prettyWriter;
+    Estimate estimate;
+    Release release;
+    Redelivery redelivery;
+    byte[] estimateJson;
+    byte[] releaseJson;
+    byte[] redeliveryJson;
+
+    @Setup
+    public void setup() throws IOException {
+        context = ApplicationContext.run();
+        objectMapper = context.getBean(ObjectMapper.class);
+        prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+
+        estimate = Fixtures.estimate(50);
+        release = Fixtures.release();
+        redelivery = Fixtures.redelivery();
+        estimateJson = objectMapper.writeValueAsBytes(estimate);
+        releaseJson = objectMapper.writeValueAsBytes(release);
+        redeliveryJson = objectMapper.writeValueAsBytes(redelivery);
+
+        System.out.printf("%nResponse bytes (compact / pretty): estimate %d / %d, release %d / %d, redelivery %d / %d%n",
+            estimateJson.length, prettyWriter.writeValueAsBytes(estimate).length,
+            releaseJson.length, prettyWriter.writeValueAsBytes(release).length,
+            redeliveryJson.length, prettyWriter.writeValueAsBytes(redelivery).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeEstimate() throws IOException {
+        return objectMapper.writeValueAsBytes(estimate);
+    }
+
+    @Benchmark
+    public byte[] serializeEstimatePretty() throws IOException {
+        return prettyWriter.writeValueAsBytes(estimate);
+    }
+
+    @Benchmark
+    public Estimate deserializeEstimate() throws IOException {
+        return objectMapper.readValue(estimateJson, Estimate.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRelease() throws IOException {
+        return objectMapper.writeValueAsBytes(release);
+    }
+
+    @Benchmark
+    public byte[] serializeReleasePretty() throws IOException {
+        return prettyWriter.writeValueAsBytes(release);
+    }
+
+    @Benchmark
+    public Release deserializeRelease() throws IOException {
+        return objectMapper.readValue(releaseJson, Release.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRedelivery() throws IOException {
+        return objectMapper.writeValueAsBytes(redelivery);
+    }
+
+    @Benchmark
+    public byte[] serializeRedeliveryPretty() throws IOException {
+        return prettyWriter.writeValueAsBytes(redelivery);
+    }
+
+    @Benchmark
+    public Redelivery deserializeRedelivery() throws IOException {
+        return objectMapper.readValue(redeliveryJson, Redelivery.class);
+    }
+}
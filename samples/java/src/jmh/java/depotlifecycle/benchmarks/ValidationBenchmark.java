@@ -0,0 +1,36 @@
+package depotlifecycle.benchmarks;
+
+import depotlifecycle.commands.EstimateCreateCommand;
+import depotlifecycle.system.ClientErrorHandling;
+import io.micronaut.context.ApplicationContext;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationBenchmark {
+    ApplicationContext context;
+    Validator validator;
+    EstimateCreateCommand command;
+
+    @Setup
+    public void setup() {
+        context = ApplicationContext.run();
+        validator = context.getBean(Validator.class);
+        command = Fixtures.estimateCreateCommand();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EstimateCreateCommand validateEstimateCreate() {
+        ClientErrorHandling.validate(command, validator);
+        return command;
+    }
+}
@@ -0,0 +1,127 @@
+package depotlifecycle.loadtest;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builds request bodies from the examples in the OpenAPI specification.  A property is included when it is required or
+ * has an example; required properties without an example fall back to the first enum value, the current time for dates
+ * and zero or false for numbers and booleans.  Each call builds a new body, so callers may change it freely.
+ */
+final class ExampleRequests {
+    private static final String SCHEMA_REF = "#/components/schemas/";
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<String, Object> schemas;
+
+    ExampleRequests(Path spec) throws IOException {
+        try (Reader reader = Files.newBufferedReader(spec)) {
+            Map<String, Object> document = new Yaml().load(reader);
+            schemas = map(map(document.get("components")).get("schemas"));
+        }
+    }
+
+    Map<String, Object> example(String schema) {
+        if (!schemas.containsKey(schema)) {
+            throw new IllegalArgumentException("The specification has no schema " + schema);
+        }
+        return map(value(map(schemas.get(schema)), 0));
+    }
+
+    private Object value(Map<String, Object> schema, int depth) {
+        if (schema.containsKey("example")) {
+            return example(schema.get("example"), schema.get("format"));
+        }
+        if (schema.containsKey("$ref")) {
+            String ref = (String) schema.get("$ref");
+            return value(map(schemas.get(ref.substring(SCHEMA_REF.length()))), depth + 1);
+        }
+        if (schema.containsKey("allOf")) {
+            for (Object part : (Collection<?>) schema.get("allOf")) {
+                Object value = value(map(part), depth + 1);
+                if (!Objects.isNull(value)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+        if (schema.containsKey("enum")) {
+            return ((List<?>) schema.get("enum")).get(0);
+        }
+
+        String type = (String) schema.get("type");
+        if ("object".equals(type) || schema.containsKey("properties")) {
+            return depth > MAX_DEPTH ? null : object(schema, depth);
+        }
+        if (Objects.isNull(type)) {
+            return null;
+        }
+        return switch (type) {
+            case "array" -> {
+                Object item = value(map(schema.get("items")), depth + 1);
+                List<Object> items = new ArrayList<>();
+                if (!Objects.isNull(item)) {
+                    items.add(item);
+                }
+                yield items;
+            }
+            case "string" -> switch (String.valueOf(schema.get("format"))) {
+                case "date-time" -> Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+                case "date" -> LocalDate.now(ZoneOffset.UTC).toString();
+                default -> null;
+            };
+            case "integer", "number" -> 0;
+            case "boolean" -> false;
+            default -> null;
+        };
+    }
+
+    private Map<String, Object> object(Map<String, Object> schema, int depth) {
+        Collection<?> required = schema.get("required") instanceof Collection<?> names ? names : List.of();
+        Map<String, Object> properties = schema.containsKey("properties") ? map(schema.get("properties")) : Map.of();
+
+        Map<String, Object> object = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            Map<String, Object> propertySchema = map(property.getValue());
+            if (!required.contains(property.getKey()) && !propertySchema.containsKey("example")) {
+                continue;
+            }
+
+            Object value = value(propertySchema, depth + 1);
+            if (!Objects.isNull(value)) {
+                object.put(property.getKey(), value);
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Unquoted dates in the specification are read as {@link Date}; they are sent in the notation the api expects.
+     */
+    private static Object example(Object example, Object format) {
+        if (example instanceof Date date) {
+            return "date".equals(format) ? LocalDate.ofInstant(date.toInstant(), ZoneOffset.UTC).toString() : date.toInstant().toString();
+        }
+        return example;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return (Map<String, Object>) value;
+    }
+}
@@ -0,0 +1,56 @@
+package depotlifecycle.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The response times of one endpoint.  Every sample is kept, so the percentiles are exact rather than estimated from
+ * buckets; a load test run of a few minutes records a few million samples at most.
+ */
+final class Latencies {
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long elapsedNanos, boolean success) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * @param seconds the length of the measured period
+     * @return the request count, error count, requests per second and latency percentiles in milliseconds
+     */
+    synchronized Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("requestsPerSecond", round(count / seconds));
+        summary.put("p50", percentile(sorted, 0.50));
+        summary.put("p99", percentile(sorted, 0.99));
+        summary.put("p999", percentile(sorted, 0.999));
+        summary.put("max", count == 0 ? 0 : round(sorted[count - 1] / 1e6));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,232 @@
+package depotlifecycle.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import depotlifecycle.Application;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.Micronaut;
+import io.micronaut.runtime.server.EmbeddedServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application against an in memory H2 database and a {@link StubLessor}, then drives the lifecycle of a
+ * damaged shipping container through the api from a number of concurrent users: gate in, estimate create, customer
+ * approval, work order, repair complete and gate out.  Request bodies are built from the examples in the OpenAPI
+ * specification, with the unit, advice, estimate and work order numbers changed on every cycle so each cycle is new
+ * to the application.
+ * <p>
+ * Requests made during the warmup are not measured.  The request count, errors, requests per second and p50, p99 and
+ * p999 latency of every endpoint are written as json to the output file.  Settings are read from system properties:
+ * <ul>
+ *     <li>`loadTest.spec` - the OpenAPI specification, required</li>
+ *     <li>`loadTest.output` - the results file, defaults to `loadTest.json`</li>
+ *     <li>`loadTest.users` - concurrent users, defaults to 16</li>
+ *     <li>`loadTest.warmup` - unmeasured seconds before the run, defaults to 30</li>
+ *     <li>`loadTest.duration` - measured seconds, defaults to 120</li>
+ * </ul>
+ */
+public final class LoadTest {
+    private static final String[] ENDPOINTS = {"gateIn", "estimateCreate", "customerApprove", "workOrder", "repairComplete", "gateOut"};
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final URI server;
+    private final String authorization;
+    private final ExampleRequests examples;
+    private final HttpClient client;
+    private final Map<String, Latencies> latencies = new LinkedHashMap<>();
+    private final AtomicLong cycles = new AtomicLong();
+    private volatile long measureFrom;
+
+    private LoadTest(URI server, String authorization, ExampleRequests examples, HttpClient client) {
+        this.server = server;
+        this.authorization = authorization;
+        this.examples = examples;
+        this.client = client;
+        for (String endpoint : ENDPOINTS) {
+            latencies.put(endpoint, new Latencies());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path spec = Path.of(System.getProperty("loadTest.spec"));
+        Path output = Path.of(System.getProperty("loadTest.output", "loadTest.json"));
+        int users = Integer.getInteger("loadTest.users", 16);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadTest.warmup", 30));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadTest.duration", 120));
+
+        ExampleRequests examples = new ExampleRequests(spec);
+        try (StubLessor lessor = new StubLessor();
+             ApplicationContext context = Micronaut.build(args)
+                 .mainClass(Application.class)
+                 .properties(Map.of(
+                     "micronaut.server.port", -1,
+                     "datasources.default.url", "jdbc:h2:mem:loadTest;LOCK_TIMEOUT=10000;DB_CLOSE_ON_EXIT=FALSE",
+                     "depotlifecycle.client.url", lessor.url(),
+                     "logger.levels.depotlifecycle", "WARN"
+                 ))
+                 .start()) {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            URI server = context.getBean(EmbeddedServer.class).getURI();
+            LoadTest loadTest = new LoadTest(server, login(client, server), examples, client);
+
+            Instant startedAt = Instant.now();
+            Map<String, Object> results = loadTest.run(users, warmup, duration);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", startedAt.toString());
+            report.put("users", users);
+            report.put("warmupSeconds", warmup.toSeconds());
+            report.put("durationSeconds", duration.toSeconds());
+            report.put("cycles", loadTest.cycles.get());
+            report.put("stubLessorRequests", lessor.requests());
+            report.put("endpoints", results);
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            MAPPER.writeValue(output.toFile(), report);
+            print(results);
+            System.out.println("Wrote " + output.toAbsolutePath());
+        }
+    }
+
+    private static String login(HttpClient client, URI server) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(server.resolve("/api/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("username", "novalidate", "password", "novalidate"))))
+            .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unable to log in to the application: " + response.statusCode() + " " + response.body());
+        }
+        return "Bearer " + MAPPER.readTree(response.body()).get("access_token").asText();
+    }
+
+    private Map<String, Object> run(int users, Duration warmup, Duration duration) throws Exception {
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        //each user runs its own cycles, one request at a time, until the run ends
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                running.add(workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        cycle(cycles.incrementAndGet());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> user : running) {
+                user.get();
+            }
+        }
+        finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        double seconds = (System.nanoTime() - measureFrom) / 1e9;
+        Map<String, Object> results = new LinkedHashMap<>();
+        latencies.forEach((endpoint, recorded) -> results.put(endpoint, recorded.summary(seconds)));
+        return results;
+    }
+
+    /**
+     * Takes one new shipping container through its whole lifecycle.
+     */
+    @SuppressWarnings("unchecked")
+    private void cycle(long id) throws IOException, InterruptedException {
+        String unitNumber = String.format("LDTU%07d", id);
+        String estimateNumber = String.format("LTE%07d", id);
+        String workOrderNumber = String.format("LTW%07d", id);
+
+        Map<String, Object> gateIn = examples.example("GateCreateRequest");
+        gateIn.put("adviceNumber", String.format("LTR%07d", id));
+        gateIn.put("unitNumber", unitNumber);
+        gateIn.put("type", "IN");
+        gateIn.put("status", "D");
+        send("gateIn", "POST", "/api/v2/gate", gateIn);
+
+        Map<String, Object> estimate = examples.example("Estimate");
+        estimate.put("estimateNumber", estimateNumber);
+        estimate.put("unitNumber", unitNumber);
+        estimate.put("revision", 0);
+        send("estimateCreate", "POST", "/api/v2/estimate", estimate);
+
+        String depot = (String) ((Map<String, Object>) estimate.get("depot")).get("companyId");
+        send("customerApprove", "PUT", "/api/v2/estimate/" + estimateNumber + "?depot=" + depot, examples.example("EstimateCustomerApproval"));
+
+        Map<String, Object> workOrder = examples.example("WorkOrder");
+        workOrder.put("workOrderNumber", workOrderNumber);
+        for (Map<String, Object> lineItem : (List<Map<String, Object>>) workOrder.get("lineItems")) {
+            lineItem.put("unitNumber", unitNumber);
+            lineItem.put("estimateNumber", estimateNumber);
+            lineItem.put("status", "TIED");
+        }
+        send("workOrder", "POST", "/api/v2/workOrder", workOrder);
+
+        Map<String, Object> repairComplete = examples.example("RepairComplete");
+        repairComplete.put("workOrderNumber", workOrderNumber);
+        repairComplete.put("unitNumber", unitNumber);
+        send("repairComplete", "PUT", "/api/v2/workOrderUnit/" + workOrderNumber, repairComplete);
+
+        Map<String, Object> gateOut = examples.example("GateCreateRequest");
+        gateOut.put("adviceNumber", String.format("LTL%07d", id));
+        gateOut.put("unitNumber", unitNumber);
+        gateOut.put("type", "OUT");
+        gateOut.put("status", "A");
+        send("gateOut", "POST", "/api/v2/gate", gateOut);
+    }
+
+    private void send(String endpoint, String method, String path, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(server.resolve(path))
+            .header("Authorization", authorization)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+            .build();
+
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() >= 200 && response.statusCode() < 300;
+        }
+        catch (IOException e) {
+            success = false;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (start >= measureFrom) {
+            latencies.get(endpoint).record(elapsed, success);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> results) {
+        System.out.printf("%-16s %10s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms");
+        results.forEach((endpoint, result) -> {
+            Map<String, Object> summary = (Map<String, Object>) result;
+            System.out.printf("%-16s %10s %8s %10s %10s %10s %10s%n", endpoint, summary.get("requests"), summary.get("errors"),
+                summary.get("requestsPerSecond"), summary.get("p50"), summary.get("p99"), summary.get("p999"));
+        });
+    }
+}
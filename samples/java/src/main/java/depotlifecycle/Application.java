@@ -4,6 +4,7 @@ import depotlifecycle.domain.*;
 import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.repositories.RedeliveryRepository;
 import depotlifecycle.repositories.ReleaseRepository;
+import depotlifecycle.services.PartyResolver;
 import io.micronaut.context.event.StartupEvent;
 import io.micronaut.runtime.Micronaut;
 import io.micronaut.runtime.event.annotation.EventListener;
@@ -315,6 +316,7 @@ public class Application {
     private final RedeliveryRepository redeliveryRepository;
     private final ReleaseRepository releaseRepository;
     private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
 
     public static void main(String[] args) {
         Micronaut.run(Application.class);
@@ -359,6 +361,7 @@ public class Application {
         owner.setName("Example Lessor Name");
 
         partyRepository.saveAll(Arrays.asList(depot1, depot2, customer, owner));
+        partyResolver.invalidateAll(); //written around the resolver
 
         buildRedeliveries(depot1, depot2, customer, owner);
         buildReleases(depot1, depot2, customer, owner);
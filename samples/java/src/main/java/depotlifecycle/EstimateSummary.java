@@ -0,0 +1,59 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonView;
+import depotlifecycle.domain.EstimateCondition;
+import depotlifecycle.domain.EstimateType;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "a lightweight view of an estimate revision returned by estimate searches that do not require line item details")
+@Introspected
+public class EstimateSummary {
+    @Schema(description = "An internal system identifier to be used to upload Estimate Photos or compare related activities.", type = "integer", format = "int64", example = "10102561", required = true, nullable = false)
+    Long relatedId;
+
+    @Schema(description = "The identifier for this estimate", example = "DEHAMCE1856373", maxLength = 16, required = true, nullable = false)
+    String estimateNumber;
+
+    @Schema(description = "The current unit number of the shipping container.", example = "CONU1234561", maxLength = 11, required = true, nullable = false)
+    String unitNumber;
+
+    @Schema(description = "the revision number of the estimate", type = "integer", format = "int32", example = "0", required = false, nullable = true)
+    Integer revision;
+
+    @Schema(description = "an indicator on the status of the estimate and where it is in the revision process", required = true, nullable = false, implementation = EstimateCondition.class)
+    EstimateCondition condition;
+
+    @Schema(description = "delineates the type of estimate", required = false, nullable = true, implementation = EstimateType.class)
+    EstimateType type;
+
+    //Issue #124 micronaut-openapi - example is represented wrong, so example is not listed here. example = "2020-07-21T17:32:28Z"
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX", timezone = "Z")
+    @Schema(description = "the date and time of the estimate revision activity in local time", type = "string", format = "date-time", required = true, nullable = false)
+    ZonedDateTime estimateTime;
+
+    @Schema(description = "the company id of the depot for this estimate", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9, required = true, nullable = false)
+    String depot;
+
+    @Schema(description = "the company id of the lessee for this estimate", pattern = "^[A-Z0-9]{9}$", example = "SGSINONEA", maxLength = 9, required = false, nullable = true)
+    String customer;
+
+    @Schema(description = "the currency of amounts entered on this estimate", example = "EUR", maxLength = 3, required = true, nullable = false)
+    String currency;
+
+    @Schema(description = "the sum of billed line items for this estimate", type = "number", format = "double", example = "544.95", required = true, nullable = false)
+    BigDecimal total;
+}
@@ -0,0 +1,25 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@Schema(description = "the outcome of a single gate record within a batch; exactly one of `gate` or `error` is defined", requiredProperties = {"index"})
+@Introspected
+public class GateBatchResult {
+    @Schema(description = "the zero based position of the gate record in the submitted batch", type = "integer", format = "int32", example = "0", required = true, nullable = false)
+    int index;
+
+    @Schema(description = "the response for a successfully created gate record", required = false, nullable = true, implementation = GateResponse.class)
+    GateResponse gate;
+
+    @Schema(description = "why the gate record was not created", required = false, nullable = true, implementation = ErrorResponse.class)
+    ErrorResponse error;
+}
@@ -0,0 +1,31 @@
+package depotlifecycle;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.micronaut.core.annotation.Introspected;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonView
+@NoArgsConstructor
+@Schema(description = "the outcome of a single repair completion within a batch", requiredProperties = {"index", "repaired"})
+@Introspected
+public class RepairCompleteResult {
+    @Schema(description = "the zero based position of the repair completion in the submitted batch", type = "integer", format = "int32", example = "0", required = true, nullable = false)
+    int index;
+
+    @Schema(description = "the identifier of the work order", example = "WHAMG46019", maxLength = 16, required = false, nullable = true)
+    String workOrderNumber;
+
+    @Schema(description = "the unit number of the shipping container", example = "CONU1234561", maxLength = 11, required = false, nullable = true)
+    String unitNumber;
+
+    @Schema(description = "true if the shipping container was marked repaired by this request", required = true, nullable = false)
+    boolean repaired;
+
+    @Schema(description = "why the shipping container could not be marked repaired", required = false, nullable = true, implementation = ErrorResponse.class)
+    ErrorResponse error;
+}
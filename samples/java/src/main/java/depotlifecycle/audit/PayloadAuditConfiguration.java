@@ -0,0 +1,40 @@
+package depotlifecycle.audit;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(PayloadAuditConfiguration.PREFIX)
+@Getter
+@Setter
+public class PayloadAuditConfiguration {
+    public static final String PREFIX = "depotlifecycle.audit";
+
+    /**
+     * when false, payloads are never serialized for the audit log
+     */
+    private boolean enabled = true;
+
+    /**
+     * the fraction (0.0 - 1.0) of payloads to audit for any operation without its own rate
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * sample rates by operation id, i.e. saveEstimate: 0.1
+     */
+    private Map<String, Double> sampling = new HashMap<>();
+
+    /**
+     * payloads are truncated to this many bytes of json
+     */
+    private int maxPayloadBytes = 64 * 1024;
+
+    /**
+     * the number of serialized payloads that may wait for the writer before new payloads are dropped
+     */
+    private int bufferSize = 1024;
+}
@@ -0,0 +1,199 @@
+package depotlifecycle.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.core.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sampled api request and response payloads to the audit log.  Payloads are serialized once, directly to a
+ * size capped byte buffer, and handed to a bounded queue that a background thread drains to the log, so request threads
+ * never build a json tree or format a log line.  Payloads are serialized on the calling thread because the inbound
+ * entities are modified as soon as they are saved.  When auditing is disabled, or a payload is not sampled, nothing is
+ * serialized or allocated.
+ */
+@Singleton
+public class PayloadAuditor {
+    private static final Logger LOG = LoggerFactory.getLogger(PayloadAuditor.class);
+
+    public enum Direction {
+        REQUEST,
+        RESPONSE
+    }
+
+    private final PayloadAuditConfiguration configuration;
+    private final ObjectWriter writer;
+    private final BlockingQueue<AuditRecord> queue;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter truncated;
+    private volatile Thread writerThread;
+
+    public PayloadAuditor(PayloadAuditConfiguration configuration, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, configuration.getBufferSize()));
+        this.written = meterRegistry.counter("depotlifecycle.audit.payloads", "result", "written");
+        this.dropped = meterRegistry.counter("depotlifecycle.audit.payloads", "result", "dropped");
+        this.truncated = meterRegistry.counter("depotlifecycle.audit.payloads", "result", "truncated");
+        meterRegistry.gaugeCollectionSize("depotlifecycle.audit.queue.size", Collections.emptyList(), queue);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        writerThread = new Thread(this::drain, "payload-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread thread = writerThread;
+        writerThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    public void audit(String operationId, Direction direction, @Nullable Object payload) {
+        if (!configuration.isEnabled() || payload == null || !sampled(operationId)) {
+            return;
+        }
+
+        CappedOutputStream out = new CappedOutputStream(configuration.getMaxPayloadBytes());
+        try {
+            writer.writeValue(out, payload);
+        }
+        catch (IOException | RuntimeException e) {
+            if (!out.isCapped()) {
+                LOG.warn("Unable to audit {} {} payload", operationId, direction, e);
+                return;
+            }
+            truncated.increment();
+        }
+
+        if (!queue.offer(new AuditRecord(operationId, direction, out.bytes(), out.isCapped()))) {
+            dropped.increment();
+        }
+    }
+
+    private boolean sampled(String operationId) {
+        double rate = configuration.getSampling().getOrDefault(operationId, configuration.getSampleRate());
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void drain() {
+        while (writerThread == Thread.currentThread()) {
+            try {
+                AuditRecord record = queue.poll(1, TimeUnit.SECONDS);
+                if (record != null) {
+                    write(record);
+                }
+            }
+            catch (InterruptedException e) {
+                break;
+            }
+        }
+
+        AuditRecord remaining;
+        while ((remaining = queue.poll()) != null) {
+            write(remaining);
+        }
+    }
+
+    private void write(AuditRecord record) {
+        String json = new String(record.payload(), StandardCharsets.UTF_8);
+        if (record.truncated()) {
+            LOG.info("{} {} (truncated): {}", record.operationId(), record.direction(), json);
+        }
+        else {
+            LOG.info("{} {}: {}", record.operationId(), record.direction(), json);
+        }
+        written.increment();
+    }
+
+    private record AuditRecord(String operationId, Direction direction, byte[] payload, boolean truncated) {
+    }
+
+    private static final class CapReachedException extends IOException {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            //only stops the serializer, so the stack is never needed
+            return this;
+        }
+    }
+
+    /**
+     * A byte buffer that stops the serializer once the cap is reached instead of growing.
+     */
+    private static final class CappedOutputStream extends OutputStream {
+        private final int cap;
+        private byte[] buffer;
+        private int count;
+        private boolean capped;
+
+        CappedOutputStream(int cap) {
+            this.cap = cap;
+            this.buffer = new byte[Math.min(cap, 512)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count >= cap) {
+                capped = true;
+                throw new CapReachedException();
+            }
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int allowed = Math.min(len, cap - count);
+            if (allowed > 0) {
+                ensureCapacity(count + allowed);
+                System.arraycopy(b, off, buffer, count, allowed);
+                count += allowed;
+            }
+            if (allowed < len) {
+                capped = true;
+                throw new CapReachedException();
+            }
+        }
+
+        private void ensureCapacity(int size) {
+            if (size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(cap, Math.max(buffer.length * 2, size)));
+            }
+        }
+
+        boolean isCapped() {
+            return capped;
+        }
+
+        byte[] bytes() {
+            return Arrays.copyOf(buffer, count);
+        }
+    }
+}
@@ -43,7 +43,7 @@ public interface EstimateClient {
 
     @Header(name = "Authorization", value = "${" + DepotLifecycleConfiguration.PREFIX + ".authorization}")
     @Post("/api/v2/estimate")
-    Publisher<EstimateAllocation> create(@NonNull @Body EstimateCreateCommand cmd);
+    Publisher<EstimateAllocation> create(@NonNull @Body EstimateCreateCommand cmd, @Header(name = "Idempotency-Key") @Nullable String idempotencyKey);
 
     @Header(name = "Authorization", value = "${" + DepotLifecycleConfiguration.PREFIX + ".authorization}")
     @Patch("/api/v2/estimate/{estimateNumber}")
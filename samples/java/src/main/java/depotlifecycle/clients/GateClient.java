@@ -7,6 +7,7 @@ import depotlifecycle.GateStatus;
 import depotlifecycle.domain.GateCreateRequest;
 import depotlifecycle.domain.GateUpdateRequest;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.client.annotation.Client;
 import org.reactivestreams.Publisher;
@@ -28,7 +29,7 @@ public interface GateClient {
 
     @Header(name = "Authorization", value = "${" + DepotLifecycleConfiguration.PREFIX + ".authorization}")
     @Post("/api/v2/gate")
-    Publisher<GateResponse> create(@Body @NonNull GateCreateRequest gateUpdateRequest);
+    Publisher<GateResponse> create(@Body @NonNull GateCreateRequest gateUpdateRequest, @Header(name = "Idempotency-Key") @Nullable String idempotencyKey);
 
     @Header(name = "Authorization", value = "${" + DepotLifecycleConfiguration.PREFIX + ".authorization}")
     @Delete("/api/v2/gate/{depot}/{adviceNumber}/{unitNumber}")
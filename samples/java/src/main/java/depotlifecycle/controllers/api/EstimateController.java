@@ -1,23 +1,34 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.EstimateSummary;
 import depotlifecycle.PendingResponse;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.*;
+import depotlifecycle.profiling.LifecycleEvents;
+import depotlifecycle.profiling.LifecycleStage;
 import depotlifecycle.repositories.*;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.EquipmentTypes;
+import depotlifecycle.services.EstimateAllocations;
+import depotlifecycle.services.EstimateSearch;
+import depotlifecycle.services.EstimateSearchCriteria;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.SearchPage;
 import depotlifecycle.system.ApiErrorHandling;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.core.annotation.Nullable;
-import io.micronaut.core.convert.ConversionService;
-import io.micronaut.data.model.Pageable;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -45,41 +56,48 @@ import java.util.Optional;
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/estimate")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class EstimateController {
     private static final Logger LOG = LoggerFactory.getLogger(EstimateController.class);
-    private final PartyRepository partyRepository;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private final PartyResolver partyResolver;
     private final EstimateRepository estimateRepository;
+    private final EstimateSearch estimateSearch;
     private final EstimateCancelRequestRepository estimateCancelRequestRepository;
     private final EstimateAllocationRepository estimateAllocationRepository;
-    private final EstimateCustomerApprovalRepository estimateCustomerApprovalRepository;
-    private final ConversionService conversionService;
+    private final EstimateAllocations estimateAllocations;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
+    private final LifecycleEvents lifecycleEvents;
 
     @Get(produces = MediaType.APPLICATION_JSON)
     @Operation(summary = "search for estimate(s)",
-        description = "Given search criteria, return estimates that match that criteria.  This interface is *limited* to a maximum of 10 estimates.",
+        description = "Given search criteria, return estimates that match that criteria.  Results are returned a page at a time (10 estimates by default); when more estimates match, the `X-Next-Cursor` response header holds the cursor to request the next page.",
         operationId = "indexEstimate",
         extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "successful found at least one estimate", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Estimate.class)))}),
+        @ApiResponse(responseCode = "200", description = "successful found at least one estimate; estimate summaries are returned when the summary view is requested", content = {@Content(array = @ArraySchema(schema = @Schema(oneOf = {Estimate.class, EstimateSummary.class})))}),
         @ApiResponse(responseCode = "400", description = "invalid estimate search object was provided", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
         @ApiResponse(responseCode = "403", description = "searching for estimates is disallowed by security"),
         @ApiResponse(responseCode = "404", description = "no estimates were found"),
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public List<Estimate> index(@Nullable @QueryValue("estimateNumber") @Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "DEHAMCE1856373", maxLength = 16, required = false, nullable = true)) String estimateNumber,
+    public HttpResponse<List<?>> index(@Nullable @QueryValue("estimateNumber") @Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "DEHAMCE1856373", maxLength = 16, required = false, nullable = true)) String estimateNumber,
                                 @Nullable @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container at the time of estimate creation", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", maxLength = 11, pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", required = false, nullable = true)) String unitNumber,
                                 @Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9, required = false, nullable = true)) String depot,
                                 @Nullable @QueryValue("lessee") @Parameter(name = "lessee", description = "the identifier of the lessee", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", pattern = "^[A-Z0-9]{9}$", example = "SGSINONEA", maxLength = 9, required = false, nullable = true)) String lessee,
                                 @Nullable @QueryValue("revision") @Parameter(name = "revision", description = "the revision number of the estimate", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int32", example = "0", required = false, nullable = true)) Integer revision,
-                                @Nullable @QueryValue("equipmentCode") @Parameter(name = "equipmentCode", description = "the ISO equipment code of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "22G1", maxLength = 10, required = false, nullable = true)) String equipmentCode
+                                @Nullable @QueryValue("equipmentCode") @Parameter(name = "equipmentCode", description = "the ISO equipment code of the shipping container, as listed on its latest redelivery; end the code with `*` to match a family of codes, i.e. `22G*` or `2***`", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "22G1", maxLength = 10, required = false, nullable = true)) String equipmentCode,
+                                @Nullable @QueryValue("view") @Parameter(name = "view", description = "the level of detail to return for each estimate\n\n`FULL` - the complete estimate including line items\n\n`SUMMARY` - the estimate header only, without line items, parts, approvals or allocations", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", allowableValues = {"FULL", "SUMMARY"}, defaultValue = "FULL", example = "SUMMARY", required = false, nullable = true)) String view,
+                                @Nullable @QueryValue("cursor") @Parameter(name = "cursor", description = "the `X-Next-Cursor` value of a previous search response, to continue the search after its last estimate", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", required = false, nullable = true)) String cursor,
+                                @Nullable @QueryValue("limit") @Parameter(name = "limit", description = "the maximum number of estimates to return", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format = "int32", example = "10", defaultValue = "10", minimum = "1", maximum = "100", required = false, nullable = true)) Integer limit
     ) {
         Optional<Party> depotParty = Optional.empty();
         if(!Objects.isNull(depot)) {
-            depotParty = partyRepository.findByCompanyId(depot);
+            depotParty = partyResolver.find(depot);
             if(depotParty.isEmpty()) {
                 ErrorResponse error = new ErrorResponse();
                 error.setCode("ERR001");
@@ -89,24 +107,46 @@ public class EstimateController {
         }
 
         Optional<Party> customerParty = Optional.empty();
-        if(!Objects.isNull(depot)) {
-            customerParty = partyRepository.findByCompanyId(lessee);
+        if(!Objects.isNull(lessee)) {
+            customerParty = partyResolver.find(lessee);
             if(customerParty.isEmpty()) {
                 ErrorResponse error = new ErrorResponse();
                 error.setCode("ERR002");
-                error.setMessage(String.format("Lessee Party %s does not exist", depot));
+                error.setMessage(String.format("Lessee Party %s does not exist", lessee));
                 throw new HttpStatusException(HttpStatus.BAD_REQUEST, error);
             }
         }
 
+        EquipmentTypes.EquipmentCode equipment = null;
         if(!Objects.isNull(equipmentCode)) {
-            ErrorResponse error = new ErrorResponse();
-            error.setCode("ERR003");
-            error.setMessage("Equipment Type searching is not implemented");
-            throw new HttpStatusException(HttpStatus.BAD_REQUEST, error);
+            try {
+                equipment = EquipmentTypes.parse(equipmentCode);
+            }
+            catch (IllegalArgumentException e) {
+                ErrorResponse error = new ErrorResponse();
+                error.setCode("ERR003");
+                error.setMessage(e.getMessage());
+                throw new HttpStatusException(HttpStatus.BAD_REQUEST, error);
+            }
+        }
+
+        EstimateSearchCriteria criteria = new EstimateSearchCriteria(estimateNumber, depotParty.orElse(null), unitNumber, customerParty.orElse(null), revision, equipment);
+        SearchPage<?> page;
+        if (Objects.isNull(view) || view.equals("FULL")) {
+            page = estimateSearch.search(criteria, cursor, limit);
+        }
+        else if (view.equals("SUMMARY")) {
+            page = estimateSearch.summarize(criteria, cursor, limit);
+        }
+        else {
+            throw new IllegalArgumentException("View may only be FULL or SUMMARY.");
         }
 
-        return estimateRepository.searchEstimates(estimateNumber, depotParty.orElse(null), unitNumber, customerParty.orElse(null), revision, Pageable.from(0, 10));
+        MutableHttpResponse<List<?>> response = HttpResponse.ok(page.items());
+        if (!Objects.isNull(page.nextCursor())) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response;
     }
 
     @Post(produces = MediaType.APPLICATION_JSON)
@@ -128,57 +168,42 @@ public class EstimateController {
     })
     public HttpResponse<EstimateAllocation> create(@Body @RequestBody(description = "Estimate object to create a new estimate revision", required = true, content = {@Content(schema = @Schema(implementation = Estimate.class))}) Estimate estimate) {
         LOG.info("Received Estimate Create");
-        conversionService.convert(estimate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
-
-        saveParties(estimate);
+        payloadAuditor.audit("saveEstimate", Direction.REQUEST, estimate);
 
-        estimateRepository.save(estimate);
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.PARTY_RESOLUTION, "saveEstimate", estimate.getDepot())) {
+            saveParties(estimate);
+        }
 
-        //Generate an example allocation for the purposes of this demo
-        EstimateAllocation allocation = new EstimateAllocation();
-        allocation.setRelatedId(estimate.getId());
-        allocation.setEstimateNumber(estimate.getEstimateNumber());
-        allocation.setDepot(estimate.getDepot());
-        allocation.setRevision(estimate.getRevision());
-        allocation.setTotal(estimate.getTotal());
-        allocation.setOwnerTotal(estimate.getPartyTotal(EstimateLineItemParty.O));
-        allocation.setInsuranceTotal(estimate.getPartyTotal(EstimateLineItemParty.I));
-        allocation.setCustomerTotal(estimate.getPartyTotal(EstimateLineItemParty.U));
-        allocation.setCtl(false); //assume not a CTL for demo purposes
-        allocation.setComments(estimate.getComments());//Assume the returned comments are the same for demo
+        EstimateAllocation allocation;
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.ALLOCATION_BUILD, "saveEstimate", estimate.getDepot())) {
+            allocation = estimateAllocations.allocate(estimate);
+        }
 
-        PreliminaryDecision preliminaryDecision = new PreliminaryDecision();
-        preliminaryDecision.setRecommendation("FIX");
-        allocation.setPreliminaryDecision(preliminaryDecision);
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.REPOSITORY_SAVE, "saveEstimate", estimate.getDepot())) {
+            estimateAllocations.save(estimate);
+        }
 
         LOG.info("Responding with example Estimate Allocation");
-        conversionService.convert(allocation, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveEstimate", Direction.RESPONSE, allocation);
 
         return HttpResponse.ok(allocation);
     }
 
     private void saveParties(Estimate estimate) {
         if (estimate.getDepot() != null) {
-            estimate.setDepot(partyRepository.save(estimate.getDepot()));
+            estimate.setDepot(partyResolver.resolve(estimate.getDepot()));
         }
 
         if (estimate.getRequester() != null) {
-            estimate.setRequester(partyRepository.save(estimate.getRequester()));
+            estimate.setRequester(partyResolver.resolve(estimate.getRequester()));
         }
 
         if (estimate.getOwner() != null) {
-            estimate.setOwner(partyRepository.save(estimate.getOwner()));
+            estimate.setOwner(partyResolver.resolve(estimate.getOwner()));
         }
 
         if (estimate.getCustomer() != null) {
-            estimate.setCustomer(partyRepository.save(estimate.getCustomer()));
-        }
-
-        if (estimate.getAllocation() != null) {
-            EstimateAllocation allocation = estimate.getAllocation();
-            if (allocation.getDepot() != null) {
-                allocation.setDepot(partyRepository.save(allocation.getDepot()));
-            }
+            estimate.setCustomer(partyResolver.resolve(estimate.getCustomer()));
         }
     }
 
@@ -202,7 +227,7 @@ public class EstimateController {
     ) {
         Optional<Party> depotParty = Optional.empty();
         if(!Objects.isNull(depot)) {
-            depotParty = partyRepository.findByCompanyId(depot);
+            depotParty = partyResolver.find(depot);
             if(depotParty.isEmpty()) {
                 ErrorResponse error = new ErrorResponse();
                 error.setCode("ERR001");
@@ -211,7 +236,7 @@ public class EstimateController {
             }
         }
 
-        return estimateRepository.searchEstimates(estimateNumber, depotParty.orElse(null), null, null, revision, Pageable.from(0, 10)).stream().findFirst().orElse(null);
+        return estimateSearch.findRevision(estimateNumber, depotParty.get(), revision).orElse(null);
     }
 
     @Put(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
@@ -237,49 +262,30 @@ public class EstimateController {
 
 
         LOG.info("Received Estimate Approve: [Estimate = {}, Depot = {}]", estimateNumber, depot);
-        conversionService.convert(customerApproval, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("customerApproveEstimate", Direction.REQUEST, customerApproval);
 
-        Optional<Party> depotParty = partyRepository.findByCompanyId(depot);
+        Optional<Party> depotParty;
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.PARTY_RESOLUTION, "customerApproveEstimate", depot)) {
+            depotParty = partyResolver.find(depot);
+        }
         if (depotParty.isEmpty()) {
             LOG.info("Party DNE -> Returning NOT FOUND");
             return HttpResponse.notFound();
         }
 
-        if (!estimateRepository.existsByEstimateNumberAndDepot(estimateNumber, depotParty.get())) {
-            LOG.info("Estimate DNE -> Returning NOT FOUND");
-            return HttpResponse.notFound();
+        Optional<EstimateAllocation> allocation;
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.REPOSITORY_SAVE, "customerApproveEstimate", depot)) {
+            allocation = estimateAllocations.approve(estimateNumber, depotParty.get(), customerApproval);
         }
-
-        if (estimateCancelRequestRepository.existsByEstimateNumberAndDepot(estimateNumber, depotParty.get())) {
-            LOG.info("Estimate Already Deleted -> Returning NOT FOUND");
+        if (allocation.isEmpty()) {
+            LOG.info("Estimate DNE or Already Deleted -> Returning NOT FOUND");
             return HttpResponse.notFound();
         }
 
-        Estimate estimate = estimateRepository.findByEstimateNumberAndDepot(estimateNumber, depotParty.get());
-        estimate.setCustomerApproval(estimateCustomerApprovalRepository.save(customerApproval));
-        estimateRepository.update(estimate);
-
-        //Generate an example allocation for the purposes of this demo
-        EstimateAllocation allocation = new EstimateAllocation();
-        allocation.setRelatedId(estimate.getId());
-        allocation.setEstimateNumber(estimate.getEstimateNumber());
-        allocation.setDepot(estimate.getDepot());
-        allocation.setRevision(estimate.getRevision());
-        allocation.setTotal(estimate.getTotal());
-        allocation.setOwnerTotal(estimate.getPartyTotal(EstimateLineItemParty.O));
-        allocation.setInsuranceTotal(estimate.getPartyTotal(EstimateLineItemParty.I));
-        allocation.setCustomerTotal(estimate.getPartyTotal(EstimateLineItemParty.U));
-        allocation.setCtl(false); //assume not a CTL for demo purposes
-        allocation.setComments(estimate.getComments());//Assume the returned comments are the same for demo
-
-        PreliminaryDecision preliminaryDecision = new PreliminaryDecision();
-        preliminaryDecision.setRecommendation("FIX");
-        allocation.setPreliminaryDecision(preliminaryDecision);
+        LOG.info("Responding with saved Estimate Allocation");
+        payloadAuditor.audit("customerApproveEstimate", Direction.RESPONSE, allocation.get());
 
-        LOG.info("Responding with example Estimate Allocation");
-        conversionService.convert(allocation, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
-
-        return HttpResponse.ok(allocation);
+        return HttpResponse.ok(allocation.get());
     }
 
     @Delete(uri = "/{estimateNumber}", produces = MediaType.APPLICATION_JSON)
@@ -301,7 +307,7 @@ public class EstimateController {
                                            @QueryValue("depot") @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.QUERY, required = true, schema = @Schema(type = "string", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
         LOG.info("Received Estimate Cancel for {} @ {}", estimateNumber, depot);
 
-        Optional<Party> depotParty = partyRepository.findByCompanyId(depot);
+        Optional<Party> depotParty = partyResolver.find(depot);
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
             if (depotParty.isEmpty()) {
                 LOG.info("Party DNE -> Returning NOT FOUND");
@@ -319,9 +325,7 @@ public class EstimateController {
             }
         }
         else if (depotParty.isEmpty()) {
-            depotParty = Optional.of(new Party());
-            depotParty.get().setCompanyId(depot);
-            depotParty = Optional.of(partyRepository.save(depotParty.get()));
+            depotParty = Optional.of(partyResolver.resolve(depot));
         }
 
         EstimateCancelRequest cancelRequest = new EstimateCancelRequest();
@@ -350,7 +354,7 @@ public class EstimateController {
     public HttpResponse<HttpStatus> allocate(@Parameter(name = "estimateNumber", description = "the estimate number", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", example = "DEHAMCE1856373", maxLength = 16)) String estimateNumber,
                                              @Body @RequestBody(description = "total breakdowns to finish creating an estimate", required = true, content = {@Content(schema = @Schema(implementation = EstimateAllocation.class, accessMode = Schema.AccessMode.AUTO))}) EstimateAllocation allocation) {
         LOG.info("Received Estimate Totals Allocation");
-        conversionService.convert(allocation, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateTotals", Direction.REQUEST, allocation);
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
             if (Objects.isNull(estimateNumber) || !estimateRepository.existsByEstimateNumberAndDepot(estimateNumber, allocation.getDepot())) {
@@ -359,7 +363,7 @@ public class EstimateController {
         }
 
         if (allocation.getDepot() != null) {
-            allocation.setDepot(partyRepository.save(allocation.getDepot()));
+            allocation.setDepot(partyResolver.resolve(allocation.getDepot()));
         }
 
         estimateAllocationRepository.save(allocation);
@@ -2,9 +2,11 @@ package depotlifecycle.controllers.api;
 
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.PendingResponse;
-import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimatePhotoStatus;
 import depotlifecycle.repositories.EstimateRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.PhotoAttachments;
+import depotlifecycle.services.PhotoStore;
 import depotlifecycle.system.ApiErrorHandling;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.*;
@@ -12,7 +14,7 @@ import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
-import io.micronaut.http.multipart.CompletedFileUpload;
+import io.micronaut.http.multipart.StreamingFileUpload;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
@@ -34,9 +36,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Objects;
-import java.util.Optional;
 
 @Tag(name = "estimate proposals")
 @Validated
@@ -47,6 +47,8 @@ public class EstimatePhotoController {
     private static final Logger LOG = LoggerFactory.getLogger(EstimatePhotoController.class);
     private final EstimateRepository estimateRepository;
     private final SecurityService securityService;
+    private final PhotoStore photoStore;
+    private final PhotoAttachments photoAttachments;
 
     @Post(uri = "/{relatedId}", consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.APPLICATION_JSON)
     @ExecuteOn(TaskExecutors.IO)
@@ -69,8 +71,8 @@ public class EstimatePhotoController {
     public HttpResponse<HttpStatus> create(@Parameter(name = "relatedId", description = "the related identifier (from the estimate allocation) that this photo should be attached", in = ParameterIn.PATH, required = true, schema = @Schema(example = "10102561", type = "integer", format = "int64")) Long relatedId,
                                            @Nullable @QueryValue("line") @Parameter(name = "line", description = "an optional line number to associate this photo to", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "integer", format="int32", example = "1")) Integer line,
                                            @Nullable @QueryValue("status") @Parameter(name = "status", description = "indicator of when this photo applies\n\n`REPAIRED` - Photo is after repair \n\n`BEFORE` - Photo is before repair", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", allowableValues = {"REPAIRED", "BEFORE"}, defaultValue = "BEFORE", example = "BEFORE", maxLength = 8)) String status,
-                                           CompletedFileUpload file) {
-        LOG.info("Received Estimate Photo with name: {} of size {} bytes for line {} with status {} for relatedId {}", file.getFilename(), file.getSize(), line, status, relatedId);
+                                           StreamingFileUpload file) {
+        LOG.info("Received Estimate Photo with name: {} for line {} with status {} for relatedId {}", file.getFilename(), line, status, relatedId);
 
         if(Objects.isNull(status) || status.isEmpty()) {
             LOG.info("No status received, defaulting to BEFORE.");
@@ -81,27 +83,15 @@ public class EstimatePhotoController {
             throw new IllegalArgumentException("Status may only be BEFORE or REPAIRED.");
         }
 
-        if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
-            Optional<Estimate> estimate = estimateRepository.findById(relatedId);
-            if (estimate.isEmpty()) {
-                throw new HttpStatusException(HttpStatus.NOT_FOUND, "Estimate does not exist for photo upload.");
-            }
-
-            if(!Objects.isNull(line)) {
-                boolean hasLineItem = estimate.get().getLineItems().stream().anyMatch(estimateLineItem -> estimateLineItem.getLine().equals(line));
-                if(!hasLineItem) {
-                    throw new HttpStatusException(HttpStatus.NOT_FOUND, "Estimate does not have line [" + line + "].");
-                }
-            }
+        boolean validating = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        boolean exists = estimateRepository.existsById(relatedId);
+        if (validating && !exists) {
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "Estimate does not exist for photo upload.");
         }
 
-        try {
-            if(Objects.isNull(file) || Objects.isNull(file.getBytes()) || file.getBytes().length == 0) {
-                throw new IllegalArgumentException("Must provide a photo to upload.");
-            }
-        }
-        catch(IOException ioException) {
-            throw new IllegalArgumentException("Must provide a photo to upload.");
+        boolean lineExists = exists && (Objects.isNull(line) || estimateRepository.existsLine(relatedId, line));
+        if (validating && !lineExists) {
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "Estimate does not have line [" + line + "].");
         }
 
         if(file.getContentType().isEmpty()) {
@@ -112,6 +102,25 @@ public class EstimatePhotoController {
             throw new IllegalArgumentException("Must provide a photo filename to upload.");
         }
 
+        if (!lineExists) {
+            //accepted as before, but there is no estimate or line to link it to, so it is not stored
+            photoStore.skip(file);
+            LOG.info("Estimate {} or line [{}] does not exist, accepted photo without storing it", relatedId, line);
+            return HttpResponse.ok();
+        }
+
+        PhotoStore.StoredPhoto stored = photoStore.store(file);
+        LOG.info("Stored Estimate Photo {} of size {} bytes", stored.sha256(), stored.size());
+
+        EstimatePhotoStatus photoStatus = status.equals("REPAIRED") ? EstimatePhotoStatus.REPAIR : EstimatePhotoStatus.BEFORE;
+        if (!photoAttachments.attachToEstimate(relatedId, line, photoStatus, stored.uri())) {
+            //the estimate was removed while the photo was uploading
+            photoStore.remove(stored);
+            if (validating) {
+                throw new HttpStatusException(HttpStatus.NOT_FOUND, "Estimate or line [" + line + "] does not exist for photo upload.");
+            }
+        }
+
         return HttpResponse.ok();
     }
 
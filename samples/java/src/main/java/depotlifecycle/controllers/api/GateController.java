@@ -1,22 +1,29 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.GateBatchResult;
 import depotlifecycle.GateResponse;
 import depotlifecycle.GateStatus;
 import depotlifecycle.PendingResponse;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.*;
+import depotlifecycle.profiling.LifecycleEvents;
+import depotlifecycle.profiling.LifecycleStage;
 import depotlifecycle.repositories.GateCreateRequestRepository;
 import depotlifecycle.repositories.GateDeleteRequestRepository;
 import depotlifecycle.repositories.GateUpdateRequestRepository;
-import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.GateBatchIngestion;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.UnitStateIndex;
 import depotlifecycle.system.ApiErrorHandling;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.utils.SecurityService;
 import io.micronaut.validation.Validated;
@@ -25,6 +32,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.extensions.Extension;
 import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -32,26 +40,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Tag(name = "gate")
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/gate")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class GateController {
     private static final Logger LOG = LoggerFactory.getLogger(GateController.class);
-    private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
     private final GateCreateRequestRepository gateCreateRequestRepository;
     private final GateUpdateRequestRepository gateUpdateRequestRepository;
     private final GateDeleteRequestRepository gateDeleteRequestRepository;
-    private final ConversionService conversionService;
+    private final UnitStateIndex unitStateIndex;
+    private final GateBatchIngestion gateBatchIngestion;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
+    private final LifecycleEvents lifecycleEvents;
+    private final Scheduler apiScheduler;
 
     @Post(produces = MediaType.APPLICATION_JSON)
     @Operation(summary = "create a gate record",
@@ -71,35 +91,84 @@ public class GateController {
     })
     public HttpResponse<GateResponse> create(@Body @RequestBody(description = "gate object to create a new gate in or gate out record", required = true, content = {@Content(schema = @Schema(implementation = GateCreateRequest.class))}) GateCreateRequest gateCreateRequest) {
         LOG.info("Received Gate Create");
-        conversionService.convert(gateCreateRequest, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveGate", Direction.REQUEST, gateCreateRequest);
 
-        if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(gateCreateRequest.getAdviceNumber(), gateCreateRequest.getUnitNumber(), gateCreateRequest.getType())) {
-            throw new IllegalArgumentException("Gate already exists; please update instead.");
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.VALIDATION, "saveGate", gateCreateRequest.getDepot())) {
+            if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(gateCreateRequest.getAdviceNumber(), gateCreateRequest.getUnitNumber(), gateCreateRequest.getType())) {
+                throw new IllegalArgumentException("Gate already exists; please update instead.");
+            }
         }
 
-        if (gateCreateRequest.getDepot() != null) {
-            gateCreateRequest.setDepot(partyRepository.save(gateCreateRequest.getDepot()));
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.PARTY_RESOLUTION, "saveGate", gateCreateRequest.getDepot())) {
+            if (gateCreateRequest.getDepot() != null) {
+                gateCreateRequest.setDepot(partyResolver.resolve(gateCreateRequest.getDepot()));
+            }
         }
 
-        gateCreateRequest = gateCreateRequestRepository.save(gateCreateRequest);
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.REPOSITORY_SAVE, "saveGate", gateCreateRequest.getDepot())) {
+            gateCreateRequest = gateCreateRequestRepository.save(gateCreateRequest);
+            unitStateIndex.created(gateCreateRequest);
+        }
 
-        //Generate an example gate for the purposes of this demo
-        GateResponse gate = new GateResponse();
-        gate.setRelatedId(gateCreateRequest.getId());
-        gate.setAdviceNumber(gateCreateRequest.getAdviceNumber());
-        gate.setCustomerReference("EXAMPLE01");
-        gate.setTransactionReference(gateCreateRequest.getId().toString());
-        //No insurance coverage in example
-        gate.setCurrentExchangeRate(BigDecimal.ONE);
-        gate.setComments(Arrays.asList("Example Comment #1", "Example Comment #2"));
-        gate.setCurrentInspectionCriteria("IICL");
+        GateResponse gate;
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.ALLOCATION_BUILD, "saveGate", gateCreateRequest.getDepot())) {
+            gate = exampleResponse(gateCreateRequest);
+        }
 
         LOG.info("Responding with example Gate Response");
-        conversionService.convert(gate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveGate", Direction.RESPONSE, gate);
 
         return HttpResponse.ok(gate);
     }
 
+    @Post(uri = "/batch", consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON_STREAM}, produces = MediaType.APPLICATION_JSON)
+    @Operation(summary = "create gate records in bulk",
+        description = "Creates many gate-in or gate-out records at once, i.e. after a vessel discharge.  The records may be sent as a json array or as a newline delimited json stream (`application/x-json-stream`).  Each record is created or rejected independently and the result of every record is returned in the order it was received.",
+        method = "POST",
+        operationId = "saveGateBatch",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the batch was processed; see each result for whether that gate record was created", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = GateBatchResult.class)))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "create a gate record is disallowed by security configuration"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public Mono<HttpResponse<List<GateBatchResult>>> createBatch(@Body @RequestBody(description = "gate objects to create new gate in or gate out records", required = true, content = {@Content(array = @ArraySchema(schema = @Schema(implementation = GateCreateRequest.class)))}) Publisher<GateCreateRequest> gateCreateRequests) {
+        LOG.info("Received Gate Batch Create");
+        boolean rejectDuplicates = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        AtomicInteger offset = new AtomicInteger();
+
+        return Flux.from(gateCreateRequests)
+            .buffer(GateBatchIngestion.CHUNK_SIZE)
+            .publishOn(apiScheduler)
+            .concatMapIterable(chunk -> {
+                payloadAuditor.audit("saveGateBatch", Direction.REQUEST, chunk);
+                List<GateBatchIngestion.Outcome> outcomes = gateBatchIngestion.ingest(chunk, rejectDuplicates);
+
+                List<GateBatchResult> results = new ArrayList<>(outcomes.size());
+                for (GateBatchIngestion.Outcome outcome : outcomes) {
+                    GateBatchResult result = new GateBatchResult();
+                    result.setIndex(offset.getAndIncrement());
+                    if (outcome.saved() != null) {
+                        unitStateIndex.created(outcome.saved());
+                        result.setGate(exampleResponse(outcome.saved()));
+                    }
+                    else {
+                        result.setError(outcome.error());
+                    }
+                    results.add(result);
+                }
+                return results;
+            })
+            .collectList()
+            .map(results -> {
+                LOG.info("Gate Batch processed {} records", results.size());
+                return HttpResponse.ok(results);
+            });
+    }
+
     @Get(uri = "/{unitNumber}", produces = MediaType.APPLICATION_JSON)
     @Operation(summary = "fetch the current gate status",
         description = "For the given unit number, if the shipping container is currently gated in or gated out, fetch the current interchange information - status, the time of the gate, etc.  This is a reporting only function.  To correct a gate status, use the update a gate record endpoint.",
@@ -115,8 +184,15 @@ public class GateController {
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse<HttpStatus> get(@Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11)) String unitNumber) {
-        return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
+    public HttpResponse<GateStatus> get(@Parameter(name = "unitNumber", description = "the current unit number of the shipping container", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11)) String unitNumber) {
+        LOG.info("Received Gate Status for {}", unitNumber);
+
+        Optional<GateStatus> gateStatus = unitStateIndex.find(unitNumber);
+        if (gateStatus.isEmpty()) {
+            return HttpResponse.notFound();
+        }
+
+        return HttpResponse.ok(gateStatus.get());
     }
 
     @Put(uri = "/{depot}/{adviceNumber}/{unitNumber}", produces = MediaType.APPLICATION_JSON)
@@ -140,7 +216,7 @@ public class GateController {
                                @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot,
                                @Body @RequestBody(description = "gate object to update an existing record", required = true, content = {@Content(schema = @Schema(implementation = GateUpdateRequest.class))}) GateUpdateRequest gateUpdateRequest) {
         LOG.info("Received Gate Update");
-        conversionService.convert(gateUpdateRequest, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateGate", Direction.REQUEST, gateUpdateRequest);
 
         boolean gateExists = gateUpdateRequest.getType() == null ? gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, GateRequestType.IN) ||
                 gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, GateRequestType.OUT) : gateCreateRequestRepository.existsByAdviceNumberAndUnitNumberAndType(adviceNumber, unitNumber, gateUpdateRequest.getType());
@@ -152,7 +228,10 @@ public class GateController {
             LOG.info("Gate DNE -> Writing to Gate Update");
         }
 
+        gateUpdateRequest.setAdviceNumber(adviceNumber);
+        gateUpdateRequest.setUnitNumber(unitNumber);
         gateUpdateRequest = gateUpdateRequestRepository.save(gateUpdateRequest);
+        unitStateIndex.updated(gateUpdateRequest);
 
         //Generate an example gate for the purposes of this demo
         GateResponse gate = new GateResponse();
@@ -166,7 +245,7 @@ public class GateController {
         gate.setCurrentInspectionCriteria("IICL");
 
         LOG.info("Responding with example Gate Response");
-        conversionService.convert(gate, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateGate", Direction.RESPONSE, gate);
 
         return HttpResponse.ok(gate);
     }
@@ -191,7 +270,7 @@ public class GateController {
                                        @Parameter(name = "depot", description = "the identifier of the depot", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9)) String depot) {
         LOG.info("Received Gate Delete for {}, {}, {}", depot, adviceNumber, unitNumber);
 
-        Optional<Party> depotParty = partyRepository.findByCompanyId(depot);
+        Optional<Party> depotParty = partyResolver.find(depot);
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
             if(depotParty.isEmpty()) {
                 return HttpResponse.notFound();
@@ -207,9 +286,7 @@ public class GateController {
             }
         }
         else {
-            depotParty = Optional.of(new Party());
-            depotParty.get().setCompanyId(depot);
-            depotParty = Optional.of(partyRepository.save(depotParty.get()));
+            depotParty = Optional.of(partyResolver.resolve(depot));
         }
 
         GateDeleteRequest gateDeleteRequest = new GateDeleteRequest();
@@ -217,11 +294,26 @@ public class GateController {
         gateDeleteRequest.setAdviceNumber(adviceNumber);
         gateDeleteRequest.setUnitNumber(unitNumber);
         gateDeleteRequestRepository.save(gateDeleteRequest);
+        unitStateIndex.deleted(gateDeleteRequest);
 
         LOG.info("Gate Deleted, responding with OK");
         return HttpResponse.ok();
     }
 
+    private static GateResponse exampleResponse(GateCreateRequest gateCreateRequest) {
+        //Generate an example gate for the purposes of this demo
+        GateResponse gate = new GateResponse();
+        gate.setRelatedId(gateCreateRequest.getId());
+        gate.setAdviceNumber(gateCreateRequest.getAdviceNumber());
+        gate.setCustomerReference("EXAMPLE01");
+        gate.setTransactionReference(gateCreateRequest.getId().toString());
+        //No insurance coverage in example
+        gate.setCurrentExchangeRate(BigDecimal.ONE);
+        gate.setComments(Arrays.asList("Example Comment #1", "Example Comment #2"));
+        gate.setCurrentInspectionCriteria("IICL");
+        return gate;
+    }
+
     @Error(status = HttpStatus.NOT_FOUND)
     public HttpResponse<JsonError> notFound(HttpRequest request) {
         LOG.info("\tError - 404 - Not Found");
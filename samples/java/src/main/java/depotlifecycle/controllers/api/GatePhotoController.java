@@ -2,9 +2,10 @@ package depotlifecycle.controllers.api;
 
 import depotlifecycle.ErrorResponse;
 import depotlifecycle.PendingResponse;
-import depotlifecycle.domain.GateCreateRequest;
 import depotlifecycle.repositories.GateCreateRequestRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.PhotoAttachments;
+import depotlifecycle.services.PhotoStore;
 import depotlifecycle.system.ApiErrorHandling;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.Controller;
@@ -12,7 +13,7 @@ import io.micronaut.http.annotation.Error;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
-import io.micronaut.http.multipart.CompletedFileUpload;
+import io.micronaut.http.multipart.StreamingFileUpload;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
@@ -34,9 +35,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.Objects;
-import java.util.Optional;
 
 @Tag(name = "gate proposals")
 @Validated
@@ -47,6 +46,8 @@ public class GatePhotoController {
     private static final Logger LOG = LoggerFactory.getLogger(GatePhotoController.class);
     private final GateCreateRequestRepository gateCreateRequestRepository;
     private final SecurityService securityService;
+    private final PhotoStore photoStore;
+    private final PhotoAttachments photoAttachments;
 
     @Post(uri = "/{relatedId}", consumes = MediaType.MULTIPART_FORM_DATA, produces = MediaType.APPLICATION_JSON)
     @ExecuteOn(TaskExecutors.IO)
@@ -67,23 +68,13 @@ public class GatePhotoController {
     })
     @RequestBody(description = "The photo to upload (expected name of part is `file`)", required = true, content = {@Content(mediaType = MediaType.MULTIPART_FORM_DATA, schema = @Schema(name="file", type = "string", format = "binary", description = "the photo data"))})
     public HttpResponse<HttpStatus> create(@Parameter(name = "relatedId", description = "the related identifier (from the gate record) that this photo should be attached", in = ParameterIn.PATH, required = true, schema = @Schema(example = "10102561", type = "integer", format = "int64")) Long relatedId,
-                                           CompletedFileUpload file) {
-        LOG.info("Received Gate Photo with name: {} of size {} bytes for relatedId {}", file.getFilename(), file.getSize(), relatedId);
+                                           StreamingFileUpload file) {
+        LOG.info("Received Gate Photo with name: {} for relatedId {}", file.getFilename(), relatedId);
 
-        if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
-            Optional<GateCreateRequest> gate = gateCreateRequestRepository.findById(relatedId);
-            if (gate.isEmpty()) {
-                throw new HttpStatusException(HttpStatus.NOT_FOUND, "Gate does not exist for upload photo.");
-            }
-        }
-
-        try {
-            if(Objects.isNull(file) || Objects.isNull(file.getBytes()) || file.getBytes().length == 0) {
-                throw new IllegalArgumentException("Must provide a photo to upload.");
-            }
-        }
-        catch(IOException ioException) {
-            throw new IllegalArgumentException("Must provide a photo to upload.");
+        boolean validating = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        boolean exists = gateCreateRequestRepository.existsById(relatedId);
+        if (validating && !exists) {
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "Gate does not exist for upload photo.");
         }
 
         if(file.getContentType().isEmpty()) {
@@ -94,6 +85,24 @@ public class GatePhotoController {
             throw new IllegalArgumentException("Must provide a photo filename to upload.");
         }
 
+        if (!exists) {
+            //accepted as before, but there is no gate to link it to, so it is not stored
+            photoStore.skip(file);
+            LOG.info("Gate {} does not exist, accepted photo without storing it", relatedId);
+            return HttpResponse.ok();
+        }
+
+        PhotoStore.StoredPhoto stored = photoStore.store(file);
+        LOG.info("Stored Gate Photo {} of size {} bytes", stored.sha256(), stored.size());
+
+        if (!photoAttachments.attachToGate(relatedId, stored.uri())) {
+            //the gate was removed while the photo was uploading
+            photoStore.remove(stored);
+            if (validating) {
+                throw new HttpStatusException(HttpStatus.NOT_FOUND, "Gate does not exist for upload photo.");
+            }
+        }
+
         return HttpResponse.ok();
     }
 
@@ -1,20 +1,23 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.Redelivery;
 import depotlifecycle.domain.RedeliveryDetail;
 import depotlifecycle.domain.RedeliveryUnit;
-import depotlifecycle.repositories.PartyRepository;
 import depotlifecycle.repositories.RedeliveryRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.EquipmentTypes;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.ReleaseCandidates;
+import depotlifecycle.services.RedeliverySearch;
 import depotlifecycle.system.ApiErrorHandling;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.core.annotation.Nullable;
-import io.micronaut.core.convert.ConversionService;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
-import io.micronaut.http.HttpResponseFactory;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Body;
@@ -26,6 +29,7 @@ import io.micronaut.http.annotation.Put;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.authentication.AuthorizationException;
 import io.micronaut.security.utils.SecurityService;
@@ -48,6 +52,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -55,12 +60,16 @@ import java.util.stream.Stream;
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/redelivery")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class RedeliveryController {
     private static final Logger LOG = LoggerFactory.getLogger(RedeliveryController.class);
-    private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
     private final RedeliveryRepository redeliveryRepository;
-    private final ConversionService conversionService;
+    private final RedeliverySearch redeliverySearch;
+    private final ReleaseCandidates releaseCandidates;
+    private final EquipmentTypes equipmentTypes;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
 
     @Get(produces = MediaType.APPLICATION_JSON)
@@ -74,18 +83,26 @@ public class RedeliveryController {
         @ApiResponse(responseCode = "200", description = "successful search", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Redelivery.class)))}),
         @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
         @ApiResponse(responseCode = "403", description = "security disallows access"),
+        @ApiResponse(responseCode = "404", description = "no redeliveries were found for the given criteria"),
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
-    public HttpResponse<HttpStatus> index(@Nullable @QueryValue("redeliveryNumber") @Parameter(name = "redeliveryNumber", description = "the redelivery number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
-                                          @Nullable @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber,
-                                          @Nullable @QueryValue("gateCheck") @Parameter(name = "gateCheck", description = "flag to indicate this search is to check if the found advices are valid for gate in", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "true", defaultValue = "true")) Boolean gateCheck) {
+    public HttpResponse<List<Redelivery>> index(@Nullable @QueryValue("redeliveryNumber") @Parameter(name = "redeliveryNumber", description = "the redelivery number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
+                                                @Nullable @QueryValue("unitNumber") @Parameter(name = "unitNumber", description = "the unit number of the shipping container", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "CONU1234561", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", maxLength = 11)) String unitNumber,
+                                                @Nullable @QueryValue("gateCheck") @Parameter(name = "gateCheck", description = "flag to indicate this search is to check if the found advices are valid for gate in", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "true", defaultValue = "true")) Boolean gateCheck) {
         LOG.info("Received Redelivery Search");
         Stream.of(Optional.of("Redelivery Number:"), Optional.ofNullable(redeliveryNumber)).filter(Optional::isPresent).map(Optional::get).reduce(String::concat).ifPresent(LOG::info);
         Stream.of(Optional.of("Unit Number:"), Optional.ofNullable(unitNumber)).filter(Optional::isPresent).map(Optional::get).reduce(String::concat).ifPresent(LOG::info);
         Stream.of(Optional.of("Gate Check:"), Optional.of(gateCheck == null || gateCheck).map(Object::toString)).map(Optional::get).reduce(String::concat).ifPresent(LOG::info);
 
-        return HttpResponseFactory.INSTANCE.status(HttpStatus.NOT_IMPLEMENTED);
+        List<Redelivery> redeliveries = redeliverySearch.search(redeliveryNumber, unitNumber, gateCheck == null || gateCheck);
+        if (redeliveries.isEmpty()) {
+            LOG.info("\tRedelivery Search - 404 - Not Found");
+            return HttpResponse.notFound();
+        }
+
+        LOG.info("\tRedelivery Search - 200 - Found Redeliveries");
+        return HttpResponse.ok(redeliveries);
     }
 
     @Post(produces = MediaType.APPLICATION_JSON)
@@ -105,7 +122,7 @@ public class RedeliveryController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "Data to use to update the given Redelivery", required = true, content = {@Content(schema = @Schema(implementation = Redelivery.class))}) Redelivery redelivery, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Redelivery Create");
-        conversionService.convert(redelivery, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveRedelivery", Direction.REQUEST, redelivery);
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v) -> m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && redeliveryRepository.existsByRedeliveryNumber(redelivery.getRedeliveryNumber())) {
@@ -115,6 +132,8 @@ public class RedeliveryController {
         saveParties(redelivery);
 
         redeliveryRepository.save(redelivery);
+        releaseCandidates.redelivered(redelivery);
+        equipmentTypes.redelivered(redelivery);
         return HttpResponse.ok();
     }
 
@@ -136,7 +155,7 @@ public class RedeliveryController {
     public HttpResponse<HttpStatus> update(@Parameter(description = "the redelivery number that needs updated", required = true, in = ParameterIn.PATH, schema = @Schema(type = "string", example = "AHAMG000000", maxLength = 16)) String redeliveryNumber,
                                            @Body @RequestBody(description = "Data to use to update the given Redelivery", required = true, content = {@Content(schema = @Schema(implementation = Redelivery.class))}) Redelivery redelivery, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Redelivery Update");
-        conversionService.convert(redelivery, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateRedelivery", Direction.REQUEST, redelivery);
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v) -> m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (!redeliveryRepository.existsByRedeliveryNumber(redeliveryNumber)) {
@@ -151,35 +170,37 @@ public class RedeliveryController {
         saveParties(redelivery);
 
         redeliveryRepository.update(redelivery);
+        releaseCandidates.redelivered(redelivery);
+        equipmentTypes.redelivered(redelivery);
         return HttpResponse.ok();
     }
 
     private void saveParties(Redelivery redelivery) {
         for (RedeliveryDetail detail : redelivery.getDetails()) {
             if (detail.getCustomer() != null) {
-                detail.setCustomer(partyRepository.save(detail.getCustomer()));
+                detail.setCustomer(partyResolver.resolve(detail.getCustomer()));
             }
 
             for (RedeliveryUnit unit : detail.getUnits()) {
                 if (unit.getLastOnHireLocation() != null) {
-                    unit.setLastOnHireLocation(partyRepository.save(unit.getLastOnHireLocation()));
+                    unit.setLastOnHireLocation(partyResolver.resolve(unit.getLastOnHireLocation()));
                 }
                 if (unit.getBillingParty() != null) {
-                    unit.setBillingParty(partyRepository.save(unit.getBillingParty()));
+                    unit.setBillingParty(partyResolver.resolve(unit.getBillingParty()));
                 }
             }
         }
 
         if (redelivery.getOwner() != null) {
-            redelivery.setOwner(partyRepository.save(redelivery.getOwner()));
+            redelivery.setOwner(partyResolver.resolve(redelivery.getOwner()));
         }
 
         if (redelivery.getDepot() != null) {
-            redelivery.setDepot(partyRepository.save(redelivery.getDepot()));
+            redelivery.setDepot(partyResolver.resolve(redelivery.getDepot()));
         }
 
         if (redelivery.getRecipient() != null) {
-            redelivery.setRecipient(partyRepository.save(redelivery.getRecipient()));
+            redelivery.setRecipient(partyResolver.resolve(redelivery.getRecipient()));
         }
     }
 
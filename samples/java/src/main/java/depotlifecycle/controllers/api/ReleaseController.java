@@ -1,16 +1,21 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.Release;
 import depotlifecycle.domain.ReleaseDetail;
 import depotlifecycle.domain.ReleaseDetailCriteria;
-import depotlifecycle.repositories.PartyRepository;
+import depotlifecycle.domain.ReleaseStatus;
 import depotlifecycle.repositories.ReleaseRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.PartyResolver;
+import depotlifecycle.services.ReleaseCandidates;
+import depotlifecycle.services.ReleaseSearch;
+import depotlifecycle.services.ReleaseSearchCriteria;
 import depotlifecycle.system.ApiErrorHandling;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.core.annotation.Nullable;
-import io.micronaut.core.convert.ConversionService;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
@@ -21,6 +26,7 @@ import io.micronaut.http.annotation.Put;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.authentication.AuthorizationException;
 import io.micronaut.security.utils.SecurityService;
@@ -40,8 +46,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 
-import java.util.ArrayList;
+import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -53,17 +60,20 @@ import java.util.stream.Stream;
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/release")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class ReleaseController {
     private static final Logger LOG = LoggerFactory.getLogger(ReleaseController.class);
-    private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
     private final ReleaseRepository releaseRepository;
-    private final ConversionService conversionService;
+    private final ReleaseSearch releaseSearch;
+    private final ReleaseCandidates releaseCandidates;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
 
     @Get(produces = MediaType.APPLICATION_JSON)
     @Operation(summary = "search for a release",
-        description = "Finds Releases for the given the criteria.",
+        description = "Finds Releases for the given the criteria.  When no release number is given, every matching release is streamed as a json array.",
         method = "GET",
         operationId = "indexRelease",
         extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "reporting", parseValue = true) })
@@ -72,36 +82,48 @@ public class ReleaseController {
         @ApiResponse(responseCode = "200", description = "successful search", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = Release.class)))}),
         @ApiResponse(responseCode = "400", description = "an error occurred", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
         @ApiResponse(responseCode = "403", description = "security disallows access"),
+        @ApiResponse(responseCode = "404", description = "no releases were found for the given criteria"),
         @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
         @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
     })
     public HttpResponse index(@Nullable @QueryValue("releaseNumber") @Parameter(name = "releaseNumber", description = "the release number to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "RHAMG000000", maxLength = 16)) String releaseNumber,
                               @Nullable @QueryValue("includeCandidates") @Parameter(name = "includeCandidates", description = "whether to include candidate units for any found release", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "false")) Boolean includeCandidates,
-                              @Nullable @QueryValue("gateCheck") @Parameter(name = "gateCheck", description = "flag to indicate this search is to check if the found advices are valid for gate out", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "true", defaultValue = "true")) Boolean gateCheck
+                              @Nullable @QueryValue("gateCheck") @Parameter(name = "gateCheck", description = "flag to indicate this search is to check if the found advices are valid for gate out", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "boolean", example = "true", defaultValue = "true")) Boolean gateCheck,
+                              @Nullable @QueryValue("status") @Parameter(name = "status", description = "the release status to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(implementation = ReleaseStatus.class, example = "APPROVED")) ReleaseStatus status,
+                              @Nullable @QueryValue("depot") @Parameter(name = "depot", description = "the company id of the release depot to filter to", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", example = "DEHAMCMRA", maxLength = 9)) String depot,
+                              @Nullable @QueryValue("expiresAfter") @Parameter(name = "expiresAfter", description = "only releases without an expiration or that expire after this date and time", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", format = "date-time")) ZonedDateTime expiresAfter,
+                              @Nullable @QueryValue("expiresBefore") @Parameter(name = "expiresBefore", description = "only releases that expire before this date and time", in = ParameterIn.QUERY, required = false, schema = @Schema(type = "string", format = "date-time")) ZonedDateTime expiresBefore
                               ) {
         LOG.info("Received Release Search");
         Stream.of(Optional.of("Release Number:"), Optional.ofNullable(releaseNumber)).filter(Optional::isPresent).map(Optional::get).reduce(String::concat).ifPresent(LOG::info);
         Stream.of(Optional.of("Gate Check:"), Optional.of(gateCheck == null || gateCheck).map(Object::toString)).map(Optional::get).reduce(String::concat).ifPresent(LOG::info);
+        boolean candidates = includeCandidates != null && includeCandidates;
 
-        List<Release> releases = new ArrayList<>();
         if (releaseNumber != null) {
-            Optional<Release> release = releaseRepository.findByReleaseNumber(releaseNumber);
-            release.ifPresent(releases::add);
-        }
-        else {
-            for (Release release : releaseRepository.findAll()) {
-                releases.add(release);
+            Optional<Release> release = releaseSearch.find(releaseNumber);
+            if (release.isEmpty()) {
+                LOG.info("\tRelease Search - 404 - Not Found");
+                return HttpResponse.notFound();
+            }
+
+            if (candidates) {
+                releaseCandidates.include(release.get());
             }
+
+            LOG.info("\tRelease Search - 200 - Found Releases");
+            return HttpResponse.ok(List.of(release.get()));
         }
 
-        if (releases.isEmpty()) {
+        ReleaseSearchCriteria criteria = new ReleaseSearchCriteria(status, depot, expiresAfter, expiresBefore);
+        List<Release> firstPage = releaseSearch.page(criteria, null);
+        if (firstPage.isEmpty()) {
             LOG.info("\tRelease Search - 404 - Not Found");
             return HttpResponse.notFound();
         }
-        else {
-            LOG.info("\tRelease Search - 200 - Found Releases");
-            return HttpResponse.ok(releases);
-        }
+
+        LOG.info("\tRelease Search - 200 - Streaming Releases");
+        Flux<Release> releases = releaseSearch.stream(criteria, firstPage);
+        return HttpResponse.ok(candidates ? releases.doOnNext(releaseCandidates::include) : releases);
     }
 
     @Post(produces = MediaType.APPLICATION_JSON)
@@ -121,7 +143,7 @@ public class ReleaseController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "Data to use to update the given Release", required = true, content = {@Content(schema = @Schema(implementation = Release.class))}) Release release, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Release Create");
-        conversionService.convert(release, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveRelease", Direction.REQUEST, release);
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v)->m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && releaseRepository.existsByReleaseNumber(release.getReleaseNumber())) {
@@ -137,7 +159,7 @@ public class ReleaseController {
     private void saveParties(Release release) {
         for (ReleaseDetail detail : release.getDetails()) {
             if (detail.getCustomer() != null) {
-                detail.setCustomer(partyRepository.save(detail.getCustomer()));
+                detail.setCustomer(partyResolver.resolve(detail.getCustomer()));
             }
 
             if(!Objects.isNull(detail.getCriteria())) {
@@ -148,15 +170,15 @@ public class ReleaseController {
         }
 
         if (release.getOwner() != null) {
-            release.setOwner(partyRepository.save(release.getOwner()));
+            release.setOwner(partyResolver.resolve(release.getOwner()));
         }
 
         if (release.getDepot() != null) {
-            release.setDepot(partyRepository.save(release.getDepot()));
+            release.setDepot(partyResolver.resolve(release.getDepot()));
         }
 
         if (release.getRecipient() != null) {
-            release.setRecipient(partyRepository.save(release.getRecipient()));
+            release.setRecipient(partyResolver.resolve(release.getRecipient()));
         }
     }
 
@@ -177,7 +199,7 @@ public class ReleaseController {
     public HttpResponse<HttpStatus> update(@Parameter(description = "name that need to be updated", required = true, in = ParameterIn.PATH, schema = @Schema(type = "string", example = "RHAMG000000", maxLength = 16)) String releaseNumber,
                        @Body @RequestBody(description = "Data to use to update the given Release", required = true, content = {@Content(schema = @Schema(implementation = Release.class))}) Release release, @Parameter(hidden = true) HttpHeaders headers) {
         LOG.info("Received Release Update");
-        conversionService.convert(release, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateRelease", Direction.REQUEST, release);
         Optional.of(headers.names().stream().collect(LinkedHashMap::new, (m, v)->m.put(v, headers.get(v)), HashMap::putAll).toString()).ifPresent(LOG::info);
 
         if(!releaseRepository.existsByReleaseNumber(releaseNumber)) {
@@ -1,13 +1,16 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.WorkOrder;
-import depotlifecycle.repositories.PartyRepository;
+import depotlifecycle.profiling.LifecycleEvents;
+import depotlifecycle.profiling.LifecycleStage;
 import depotlifecycle.repositories.WorkOrderRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.PartyResolver;
 import depotlifecycle.system.ApiErrorHandling;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
@@ -16,6 +19,7 @@ import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.authentication.AuthorizationException;
 import io.micronaut.security.utils.SecurityService;
@@ -39,13 +43,15 @@ import org.slf4j.LoggerFactory;
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/workOrder")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class WorkOrderController {
     private static final Logger LOG = LoggerFactory.getLogger(WorkOrderController.class);
-    private final PartyRepository partyRepository;
+    private final PartyResolver partyResolver;
     private final WorkOrderRepository workOrderRepository;
-    private final ConversionService conversionService;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
+    private final LifecycleEvents lifecycleEvents;
 
     @Post(produces = MediaType.APPLICATION_JSON)
     @Operation(summary = "authorizes a repair",
@@ -64,30 +70,36 @@ public class WorkOrderController {
     })
     public HttpResponse<HttpStatus> create(@Body @RequestBody(description = "repair authorization object", required = true, content = {@Content(schema = @Schema(implementation = WorkOrder.class))}) WorkOrder workOrder) {
         LOG.info("Received Work Order Create");
-        conversionService.convert(workOrder, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("saveWorkOrder", Direction.REQUEST, workOrder);
 
-        if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && workOrderRepository.existsByWorkOrderNumber(workOrder.getWorkOrderNumber())) {
-            throw new IllegalArgumentException("Work Order already exists; please update instead.");
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.VALIDATION, "saveWorkOrder", workOrder.getDepot())) {
+            if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME) && workOrderRepository.existsByWorkOrderNumber(workOrder.getWorkOrderNumber())) {
+                throw new IllegalArgumentException("Work Order already exists; please update instead.");
+            }
         }
 
-        saveParties(workOrder);
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.PARTY_RESOLUTION, "saveWorkOrder", workOrder.getDepot())) {
+            saveParties(workOrder);
+        }
 
-        workOrderRepository.save(workOrder);
+        try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.REPOSITORY_SAVE, "saveWorkOrder", workOrder.getDepot())) {
+            workOrderRepository.save(workOrder);
+        }
 
         return HttpResponse.ok();
     }
 
     private void saveParties(WorkOrder workOrder) {
         if (workOrder.getDepot() != null) {
-            workOrder.setDepot(partyRepository.save(workOrder.getDepot()));
+            workOrder.setDepot(partyResolver.resolve(workOrder.getDepot()));
         }
 
         if (workOrder.getOwner() != null) {
-            workOrder.setOwner(partyRepository.save(workOrder.getOwner()));
+            workOrder.setOwner(partyResolver.resolve(workOrder.getOwner()));
         }
 
         if (workOrder.getBillingParty() != null) {
-            workOrder.setBillingParty(partyRepository.save(workOrder.getBillingParty()));
+            workOrder.setBillingParty(partyResolver.resolve(workOrder.getBillingParty()));
         }
     }
 
@@ -104,7 +116,7 @@ public class WorkOrderController {
     public HttpResponse<HttpStatus> update(@Parameter(name = "workOrderNumber", description = "the work order number", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", example = "WHAMG30001", maxLength = 16)) String workOrderNumber,
                                            @Body @RequestBody(description = "the updated work order record", required = true, content = {@Content(schema = @Schema(implementation = WorkOrder.class))}) WorkOrder workOrder) {
         LOG.info("Received Work Order Update");
-        conversionService.convert(workOrder, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateWorkOrder", Direction.REQUEST, workOrder);
 
         if(!workOrderRepository.existsByWorkOrderNumber(workOrderNumber)) {
             if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
@@ -1,20 +1,25 @@
 package depotlifecycle.controllers.api;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import depotlifecycle.ErrorResponse;
+import depotlifecycle.RepairCompleteResult;
+import depotlifecycle.audit.PayloadAuditor;
+import depotlifecycle.audit.PayloadAuditor.Direction;
 import depotlifecycle.domain.*;
 import depotlifecycle.repositories.WorkOrderRepository;
 import depotlifecycle.repositories.WorkOrderUnitRepository;
 import depotlifecycle.security.AuthenticationProviderUserPassword;
+import depotlifecycle.services.RepairCompletion;
 import depotlifecycle.system.ApiErrorHandling;
-import io.micronaut.core.convert.ConversionService;
+import depotlifecycle.system.ApiExecutorFactory;
 import io.micronaut.http.*;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Put;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.authentication.AuthorizationException;
 import io.micronaut.security.utils.SecurityService;
@@ -24,28 +29,34 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.extensions.Extension;
 import io.swagger.v3.oas.annotations.extensions.ExtensionProperty;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Tag(name = "workOrder")
 @Validated
 @Secured("isAuthenticated()")
 @Controller("/api/v2/workOrderUnit")
+@ExecuteOn(ApiExecutorFactory.API)
 @RequiredArgsConstructor
 public class WorkOrderUnitController {
     private static final Logger LOG = LoggerFactory.getLogger(WorkOrderController.class);
     private final WorkOrderRepository workOrderRepository;
     private final WorkOrderUnitRepository workOrderUnitRepository;
-    private final ConversionService conversionService;
+    private final RepairCompletion repairCompletion;
+    private final PayloadAuditor payloadAuditor;
     private final SecurityService securityService;
 
     @Put(uri = "/{workOrderNumber}", produces = MediaType.APPLICATION_JSON)
@@ -66,37 +77,83 @@ public class WorkOrderUnitController {
     public HttpResponse<HttpStatus> update(@Parameter(name = "workOrderNumber", description = "the work order number", in = ParameterIn.PATH, required = true, schema = @Schema(type = "string", example = "WHAMG30001", maxLength = 16)) String workOrderNumber,
                                            @Body @RequestBody(description = "Necessary information to mark a shipping container repair complete", required = true, content = {@Content(schema = @Schema(implementation = RepairComplete.class))}) RepairComplete repairComplete) {
         LOG.info("Received Work Order Repair Complete for {}:", workOrderNumber);
-        conversionService.convert(repairComplete, JsonNode.class).ifPresent(jsonNode -> LOG.info(jsonNode.toString()));
+        payloadAuditor.audit("updateWorkOrderUnit", Direction.REQUEST, repairComplete);
 
-        Optional<WorkOrder> workOrder = workOrderRepository.findByWorkOrderNumber(workOrderNumber);
+        if (workOrderUnitRepository.updateRepaired(workOrderNumber, repairComplete.getUnitNumber()) > 0) {
+            return HttpResponse.ok();
+        }
 
-        Optional<WorkOrderUnit> unit = workOrder.flatMap(order -> order.getLineItems().stream().filter(p -> p.getUnitNumber().equals(repairComplete.getUnitNumber())).findAny());
+        //the unit was not tied to the work order; only now is it worth finding out why
+        Optional<WorkOrderUnit> unit = workOrderUnitRepository.findOnWorkOrder(workOrderNumber, repairComplete.getUnitNumber());
+        String reason;
+        if (unit.isEmpty()) {
+            reason = workOrderRepository.existsByWorkOrderNumber(workOrderNumber)
+                ? "Work Order " + workOrderNumber + " does not contain unit " + repairComplete.getUnitNumber()
+                : "Work Order " + workOrderNumber + " was not found.";
+        }
+        else if (unit.get().getStatus() == WorkOrderUnitStatus.REMOVED) {
+            reason = "Unit was removed from work order.";
+        }
+        else {
+            reason = "Unit already repaired.";
+        }
 
         if (securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME)) {
-            if(workOrder.isEmpty()) {
-                throw new IllegalArgumentException("Work Order " + workOrderNumber + " was not found.");
-            }
+            throw new IllegalArgumentException(reason);
+        }
 
-            if(unit.isEmpty()) {
-                throw new IllegalArgumentException("Work Order " + workOrderNumber + " does not contain unit " + repairComplete.getUnitNumber());
-            }
+        LOG.info("\tRepair Complete Ignored - {}", reason);
+        return HttpResponse.ok();
+    }
 
-            if(unit.get().getStatus() == WorkOrderUnitStatus.REMOVED) {
-                throw new IllegalArgumentException("Unit was removed from work order.");
-            }
+    @Post(uri = "/batch", produces = MediaType.APPLICATION_JSON)
+    @Operation(summary = "marks many shipping containers repaired",
+        description = "Marks every given shipping container repair complete, across one or more work orders, i.e. at the end of a shift.  Each repair completion is applied or rejected independently and the result of every one is returned in the order it was received.  A batch may contain up to " + RepairCompletion.MAX_BATCH_SIZE + " repair completions.",
+        method = "POST",
+        operationId = "updateWorkOrderUnitBatch",
+        extensions = @Extension(properties = { @ExtensionProperty(name = "iicl-purpose", value = "activity", parseValue = true) })
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "the batch was processed; see each result for whether that shipping container was repaired", content = {@Content(array = @ArraySchema(schema = @Schema(implementation = RepairCompleteResult.class)))}),
+        @ApiResponse(responseCode = "400", description = "an error occurred trying to repair complete the work orders", content = {@Content(schema = @Schema(implementation = ErrorResponse.class))}),
+        @ApiResponse(responseCode = "403", description = "repair completion is not allowed by security"),
+        @ApiResponse(responseCode = "501", description = "this feature is not supported by this server"),
+        @ApiResponse(responseCode = "503", description = "API is temporarily paused, and not accepting any activity"),
+    })
+    public HttpResponse<List<RepairCompleteResult>> updateBatch(@Body @RequestBody(description = "Necessary information to mark each shipping container repair complete", required = true, content = {@Content(array = @ArraySchema(maxItems = RepairCompletion.MAX_BATCH_SIZE, schema = @Schema(implementation = RepairComplete.class)))}) @Size(min = 1, max = RepairCompletion.MAX_BATCH_SIZE, message = "Must provide between {min} and {max} repair completes.") List<RepairComplete> repairCompletes) {
+        LOG.info("Received Work Order Repair Complete Batch of {}", repairCompletes.size());
+        payloadAuditor.audit("updateWorkOrderUnitBatch", Direction.REQUEST, repairCompletes);
 
-            if (unit.get().getStatus() == WorkOrderUnitStatus.REPAIRED) {
-                throw new IllegalArgumentException("Unit already repaired.");
-            }
-        }
+        boolean validate = securityService.username().equals(AuthenticationProviderUserPassword.VALIDATE_USER_NAME);
+        List<RepairCompletion.Outcome> outcomes = repairCompletion.complete(repairCompletes);
 
-        if(unit.isPresent()) {
-            unit.get().setStatus(WorkOrderUnitStatus.REPAIRED);
-            workOrderUnitRepository.save(unit.get());
-        }
+        List<RepairCompleteResult> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            RepairComplete repairComplete = repairCompletes.get(i);
+            RepairCompletion.Outcome outcome = outcomes.get(i);
 
+            RepairCompleteResult result = new RepairCompleteResult();
+            result.setIndex(i);
+            if (repairComplete != null) {
+                result.setWorkOrderNumber(repairComplete.getWorkOrderNumber());
+                result.setUnitNumber(repairComplete.getUnitNumber());
+            }
+            result.setRepaired(outcome.repaired());
+            if (!outcome.repaired()) {
+                if (validate) {
+                    ErrorResponse error = new ErrorResponse();
+                    error.setCode("ERR000");
+                    error.setMessage(outcome.reason());
+                    result.setError(error);
+                }
+                else {
+                    LOG.info("\tRepair Complete Ignored - {}", outcome.reason());
+                }
+            }
+            results.add(result);
+        }
 
-        return HttpResponse.ok();
+        return HttpResponse.ok(results);
     }
 
     @Error(status = HttpStatus.NOT_FOUND)
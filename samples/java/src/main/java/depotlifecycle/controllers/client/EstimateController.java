@@ -4,6 +4,8 @@ import depotlifecycle.DepotLifecycleConfiguration;
 import depotlifecycle.clients.EstimateClient;
 import depotlifecycle.commands.*;
 import depotlifecycle.domain.*;
+import depotlifecycle.services.Outbox;
+import depotlifecycle.services.PartyResolver;
 import depotlifecycle.system.ClientErrorHandling;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
@@ -34,6 +36,8 @@ public class EstimateController {
     private final DepotLifecycleConfiguration projectConfig;
     private final Validator validator;
     private final EstimateClient estimateClient;
+    private final Outbox outbox;
+    private final PartyResolver partyResolver;
 
     @Consumes(MediaType.ALL)
     @View("estimate")
@@ -57,15 +61,16 @@ public class EstimateController {
 
         ClientErrorHandling.validate(cmd, validator);
 
-        estimateClient.update(cmd.getEstimateNumber(), cmd);
+        outbox.estimateTotals(cmd);
+        partyResolver.invalidate(cmd.getDepot());
 
-        return Mono.just(Map.of("title", "Estimate Totals", "message", "Totals Updated"));
+        return Mono.just(Map.of("title", "Estimate Totals", "message", "Totals Update Queued For Delivery"));
     }
 
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @ExecuteOn(TaskExecutors.BLOCKING)
     @Post("/customerApprove")
-    @View("estimateAllocationList")
+    @View("estimateMessage")
     Mono<Map<String, Object>> customerApprove(@Body EstimateCustomerApproveCommand cmd) {
         LOG.info("Client - Estimate - Customer Approve");
 
@@ -76,11 +81,9 @@ public class EstimateController {
         customerApproval.setApprovalDateTime(cmd.getApprovalDateTime());
         customerApproval.setApprovalUser(cmd.getApprovalUser());
         customerApproval.setApprovalTotal(cmd.getApprovalTotal());
-        Publisher<EstimateAllocation> estimatePublisher = estimateClient.customerApprove(cmd.getEstimateNumber(), cmd.getDepot(), customerApproval);
+        outbox.estimateCustomerApprove(cmd.getEstimateNumber(), cmd.getDepot(), customerApproval);
 
-        return Mono.from(estimatePublisher)
-                .onErrorMap(HttpClientResponseException.class, ClientErrorHandling::handleError)
-                .map(estimate -> Map.of("estimates", List.of(estimate)));
+        return Mono.just(Map.of("title", "Estimate Customer Approval", "message", "Customer Approval Queued For Delivery"));
     }
 
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
@@ -92,34 +95,27 @@ public class EstimateController {
 
         ClientErrorHandling.validate(cmd, validator);
 
-        try {
-            estimateClient.delete(cmd.getEstimateNumber(), cmd.getDepot());
-        } catch (HttpClientResponseException e) {
-            throw ClientErrorHandling.handleError(e);
-        }
+        outbox.estimateCancel(cmd.getEstimateNumber(), cmd.getDepot());
 
         Map<String, Object> results = new HashMap<>();
         results.put("title", "Estimate Cancel Results");
-        results.put("message", "Estimate Deleted");
+        results.put("message", "Estimate Cancel Queued For Delivery");
         return Mono.just(results);
     }
 
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @ExecuteOn(TaskExecutors.BLOCKING)
     @Post("/create")
-    @View("estimateAllocationList")
+    @View("estimateMessage")
     Mono<Map<String, Object>> create(@Body EstimateCreateCommand cmd) {
         LOG.info("Client - Estimate - Create");
 
         ClientErrorHandling.validate(cmd, validator);
 
-        Publisher<EstimateAllocation> estimatePublisher = estimateClient.create(cmd);
+        outbox.estimateCreate(cmd);
+        partyResolver.invalidate(cmd.getRequester(), cmd.getDepot(), cmd.getOwner(), cmd.getCustomer());
 
-        return Mono.from(estimatePublisher)
-                .onErrorMap(HttpClientResponseException.class, ClientErrorHandling::handleError)
-                .map(estimate ->
-                        Map.of("estimates", List.of(estimate))
-                );
+        return Mono.just(Map.of("title", "Estimate Create Results", "message", "Estimate Create Queued For Delivery"));
     }
 
 
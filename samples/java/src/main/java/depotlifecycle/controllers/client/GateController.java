@@ -1,7 +1,6 @@
 package depotlifecycle.controllers.client;
 
 import depotlifecycle.DepotLifecycleConfiguration;
-import depotlifecycle.GateResponse;
 import depotlifecycle.GateStatus;
 import depotlifecycle.clients.GateClient;
 import depotlifecycle.commands.GateCreateCommand;
@@ -9,6 +8,8 @@ import depotlifecycle.commands.GateDeleteCommand;
 import depotlifecycle.commands.GateFetchCommand;
 import depotlifecycle.commands.GateUpdateCommand;
 import depotlifecycle.domain.*;
+import depotlifecycle.services.Outbox;
+import depotlifecycle.services.PartyResolver;
 import depotlifecycle.system.ClientErrorHandling;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.*;
@@ -39,6 +40,8 @@ public class GateController {
     private final DepotLifecycleConfiguration projectConfig;
     private final Validator validator;
     private final GateClient gateClient;
+    private final Outbox outbox;
+    private final PartyResolver partyResolver;
 
     @Consumes(MediaType.ALL)
     @View("gate")
@@ -76,22 +79,18 @@ public class GateController {
 
         ClientErrorHandling.validate(cmd, validator);
 
-        try {
-            gateClient.delete(cmd.getDepot(), cmd.getAdviceNumber(), cmd.getUnitNumber());
-        } catch (HttpClientResponseException e) {
-            throw ClientErrorHandling.handleError(e);
-        }
+        outbox.gateDelete(cmd.getDepot(), cmd.getAdviceNumber(), cmd.getUnitNumber());
 
         Map<String, Object> results = new HashMap<>();
         results.put("title", "Gate Delete Results");
-        results.put("message", "Gate Deleted");
+        results.put("message", "Gate Delete Queued For Delivery");
         return Mono.just(results);
     }
 
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @ExecuteOn(TaskExecutors.BLOCKING)
     @Post("/update")
-    @View("gateResponseList")
+    @View("gateMessage")
     Mono<Map<String, Object>> update(@Body GateUpdateCommand cmd) {
         LOG.info("Client - Gate - Update");
 
@@ -109,17 +108,15 @@ public class GateController {
             }).toList());
         }
 
-        Publisher<GateResponse> gatePublisher = gateClient.update(cmd.getAdviceNumber(), cmd.getUnitNumber(), cmd.getDepot(), gateRequest);
+        outbox.gateUpdate(cmd.getDepot(), cmd.getAdviceNumber(), cmd.getUnitNumber(), gateRequest);
 
-        return Mono.from(gatePublisher)
-                .onErrorMap(HttpClientResponseException.class, ClientErrorHandling::handleError)
-                .map(gate -> Map.of("gates", List.of(gate)));
+        return Mono.just(Map.of("title", "Gate Update Results", "message", "Gate Update Queued For Delivery"));
     }
 
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
     @ExecuteOn(TaskExecutors.BLOCKING)
     @Post("/create")
-    @View("gateResponseList")
+    @View("gateMessage")
     Mono<Map<String, Object>> create(@Body GateCreateCommand cmd) {
         LOG.info("Client - Gate - Create");
 
@@ -140,10 +137,9 @@ public class GateController {
             }).toList());
         }
 
-        Publisher<GateResponse> gatePublisher = gateClient.create(gateRequest);
+        outbox.gateCreate(gateRequest);
+        partyResolver.invalidate(cmd.getDepot());
 
-        return Mono.from(gatePublisher)
-                .onErrorMap(HttpClientResponseException.class, ClientErrorHandling::handleError)
-                .map(gate -> Map.of("gates", List.of(gate)));
+        return Mono.just(Map.of("title", "Gate Create Results", "message", "Gate Create Queued For Delivery"));
     }
 }
@@ -7,6 +7,7 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -22,7 +23,11 @@ import java.util.Objects;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@NamedEntityGraph(name = "Estimate.full", attributeNodes = {
+    @NamedAttributeNode("requester"), @NamedAttributeNode("depot"), @NamedAttributeNode("owner"), @NamedAttributeNode("customer"),
+    @NamedAttributeNode("customerApproval"), @NamedAttributeNode(value = "allocation", subgraph = "allocation")
+}, subgraphs = @NamedSubgraph(name = "allocation", attributeNodes = {@NamedAttributeNode("depot"), @NamedAttributeNode("preliminaryDecision")}))
+@Table(indexes = {@Index(columnList = "estimateNumber, depot_id, revision"), @Index(columnList = "unitNumber")})
 @Schema(description = "Represents an estimation of costs to repair or upgrade a shipping container.", requiredProperties = {"estimateNumber", "unitNumber", "condition", "estimateTime", "depot", "currency", "total", "exchangeRate"})
 @EqualsAndHashCode(of = {"estimateNumber", "depot", "revision"})
 @ToString(of = {"estimateNumber", "depot", "revision"})
@@ -56,20 +61,20 @@ public class Estimate {
     String comments;
 
     @Schema(description = "the party submitting this estimate", required = false, nullable = true, implementation = Party.class)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party requester;
 
     @Schema(description = "the location of this estimate", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 
     @Schema(description = "the shipping container's owner", required = false, nullable = true, implementation = Party.class)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "the lessee of the shipping container to whom customer line items should apply.", required = false, nullable = true, implementation = Party.class)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party customer;
 
     @Schema(description = "the currency of amounts entered on this estimate", required = true, nullable = false, example = "EUR", pattern = "^[A-Z]{3}$", maxLength = 3)
@@ -85,7 +90,7 @@ public class Estimate {
     BigDecimal exchangeRate;
 
     @Schema(description = "lessee approval information for this estimate", required = false, nullable = true, implementation = EstimateCustomerApproval.class)
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     EstimateCustomerApproval customerApproval;
 
     @Schema(defaultValue = "R", description = "delineates the type of estimate; whether it was the initial, primary estimate or an ancillary / secondary repair after the initial decision\n\n`R` - Primary (Unknown Estimation Standard)\n\n`RI` - Primary (IICL)\n\n`RC` - Primary (CWCA)\n\n`SC` - Secondary (CWCA)\n\n`SU` - Secondary Upgrade\n\n`AS` - Sell Upgrade\n\n`AU` - Ancillary Upgrade\n\n`AR` - Ancillary Repair", required = false, nullable = true, implementation = EstimateType.class)
@@ -104,28 +109,31 @@ public class Estimate {
 
     @ArraySchema(minItems = 0, schema = @Schema( implementation = EstimateLineItem.class))
     @Schema(description = "detailed damage descriptions that when combined represent the damages being repaired by this estimate", required = false, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "Estimate_id")})
+    @BatchSize(size = 50)
     List<EstimateLineItem> lineItems = new ArrayList<>();
 
     @ArraySchema(schema = @Schema(implementation = EstimatePhoto.class))
     @Schema(description = "An optional photo list for the shipping container damages.", required = false, nullable = false)
     @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL})
+    @BatchSize(size = 50)
     List<EstimatePhoto> photos = new ArrayList<>();
 
     // https://github.com/swagger-api/swagger-ui/issues/5418 prevents the read only access from correctly working so explicitly mention this in the description
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "the amount break downs by party for this estimate; typically only defined for a response and not included in requests", accessMode = Schema.AccessMode.READ_ONLY, nullable = false, required = true, implementation = EstimateAllocation.class)
     EstimateAllocation allocation;
 
     @JsonIgnore
     public BigDecimal getPartyTotal(EstimateLineItemParty party) {
-        BigDecimal total = BigDecimal.ZERO;
-        for (EstimateLineItem lineItem : lineItems) {
-            if(!Objects.isNull(lineItem.party) && lineItem.party == party) {
-                total = total.add(lineItem.getTotal());
-            }
-        }
-
-        return total;
+        return computeTotals().getPartyTotal(party);
+    }
+
+    /**
+     * Computes every line item total in one pass; prefer this over repeated {@link #getPartyTotal} calls.
+     */
+    public EstimateTotals computeTotals() {
+        return EstimateTotals.of(lineItems);
     }
 }
@@ -49,7 +49,7 @@ public class EstimateAllocation {
     Integer revision;
 
     @Schema(description = "the location of the estimate", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 
@@ -78,6 +78,6 @@ public class EstimateAllocation {
     String comments;
 
     @Schema(type = "object", description = "when possible, this is set to an expected sell/fix decision to indicate the likely estimate owner approval action", required = false, nullable = true, implementation = PreliminaryDecision.class)
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     PreliminaryDecision preliminaryDecision;
 }
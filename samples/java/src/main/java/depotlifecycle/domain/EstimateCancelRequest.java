@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,7 +23,7 @@ import jakarta.persistence.Table;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Table(indexes = {@Index(columnList = "estimateNumber, depot_id")})
 @EqualsAndHashCode(of = {"id"})
 @ToString(of = {"id"})
 @Introspected
@@ -35,7 +36,7 @@ public class EstimateCancelRequest {
     @Column(nullable = false, length = 16)
     String estimateNumber;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "depot_id", nullable = false)
     Party depot;
 }
@@ -6,6 +6,7 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -105,12 +106,15 @@ public class EstimateLineItem {
 
     @ArraySchema(schema = @Schema(implementation = EstimateLineItemPart.class))
     @Schema(description = "An optional, detailed part list used to repair this line item", required = false, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "EstimateLineItem_id")})
+    @BatchSize(size = 50)
     List<EstimateLineItemPart> parts = new ArrayList<>();
 
     @ArraySchema(schema = @Schema(implementation = EstimateLineItemPhoto.class))
     @Schema(description = "An optional photo list showing the damage of this line item", required = false, nullable = false)
     @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL})
+    @BatchSize(size = 50)
     List<EstimateLineItemPhoto> photos = new ArrayList<>();
 
     @JsonIgnore
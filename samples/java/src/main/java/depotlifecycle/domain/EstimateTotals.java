@@ -0,0 +1,220 @@
+package depotlifecycle.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Estimate amounts accumulated in a single pass over the line items: the total for every responsible party, the labor
+ * and material totals, and the amount each tax rule applies to.  Amounts are rounded the same way as
+ * {@link EstimateLineItem#getTotal()}.  The pass is done in long minor units when every amount fits, falling back to
+ * {@link BigDecimal} arithmetic on overflow or when an amount has more precision than a long can represent.
+ */
+public final class EstimateTotals {
+    //For demo purposes assume 2 digit currency precision
+    private static final int CURRENCY_PRECISION = 2;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+        100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+        100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L};
+    private static final EstimateLineItemParty[] PARTIES = EstimateLineItemParty.values();
+    private static final EstimateTaxRule[] TAX_RULES = EstimateTaxRule.values();
+
+    private final Map<EstimateLineItemParty, BigDecimal> partyTotals;
+    private final Map<EstimateTaxRule, BigDecimal> taxableTotals;
+    private final BigDecimal laborTotal;
+    private final BigDecimal materialTotal;
+
+    private EstimateTotals(Map<EstimateLineItemParty, BigDecimal> partyTotals, Map<EstimateTaxRule, BigDecimal> taxableTotals, BigDecimal laborTotal, BigDecimal materialTotal) {
+        this.partyTotals = Collections.unmodifiableMap(partyTotals);
+        this.taxableTotals = Collections.unmodifiableMap(taxableTotals);
+        this.laborTotal = laborTotal;
+        this.materialTotal = materialTotal;
+    }
+
+    /**
+     * Line items without hours, material cost or labor rate have no total and are skipped.
+     */
+    public static EstimateTotals of(Collection<EstimateLineItem> lineItems) {
+        try {
+            return minorUnits(lineItems);
+        }
+        catch (ArithmeticException e) {
+            return exact(lineItems);
+        }
+    }
+
+    /**
+     * Computes the totals using only {@link BigDecimal} arithmetic.
+     */
+    public static EstimateTotals exact(Collection<EstimateLineItem> lineItems) {
+        BigDecimal[] parties = new BigDecimal[PARTIES.length];
+        BigDecimal[] taxable = new BigDecimal[TAX_RULES.length];
+        BigDecimal labor = BigDecimal.ZERO.setScale(CURRENCY_PRECISION);
+        BigDecimal material = BigDecimal.ZERO.setScale(CURRENCY_PRECISION);
+
+        for (EstimateLineItem lineItem : lineItems) {
+            if (!hasAmounts(lineItem)) {
+                continue;
+            }
+
+            BigDecimal roundedHours = lineItem.getHours().setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+            BigDecimal roundedRate = lineItem.getLaborRate().setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+            BigDecimal lineMaterial = lineItem.getMaterialCost().setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+            BigDecimal lineLabor = roundedRate.multiply(roundedHours).setScale(CURRENCY_PRECISION, RoundingMode.HALF_EVEN);
+
+            labor = labor.add(lineLabor);
+            material = material.add(lineMaterial);
+            if (!Objects.isNull(lineItem.getParty())) {
+                int index = lineItem.getParty().ordinal();
+                parties[index] = Objects.isNull(parties[index]) ? lineLabor.add(lineMaterial) : parties[index].add(lineLabor).add(lineMaterial);
+            }
+            if (!Objects.isNull(lineItem.getTaxRule())) {
+                BigDecimal lineTaxable = switch (lineItem.getTaxRule()) {
+                    case B -> lineLabor.add(lineMaterial);
+                    case L -> lineLabor;
+                    case M -> lineMaterial;
+                    case N -> BigDecimal.ZERO.setScale(CURRENCY_PRECISION);
+                };
+                int index = lineItem.getTaxRule().ordinal();
+                taxable[index] = Objects.isNull(taxable[index]) ? lineTaxable : taxable[index].add(lineTaxable);
+            }
+        }
+
+        Map<EstimateLineItemParty, BigDecimal> partyTotals = new EnumMap<>(EstimateLineItemParty.class);
+        for (EstimateLineItemParty party : PARTIES) {
+            if (!Objects.isNull(parties[party.ordinal()])) {
+                partyTotals.put(party, parties[party.ordinal()]);
+            }
+        }
+        Map<EstimateTaxRule, BigDecimal> taxableTotals = new EnumMap<>(EstimateTaxRule.class);
+        for (EstimateTaxRule taxRule : TAX_RULES) {
+            if (!Objects.isNull(taxable[taxRule.ordinal()])) {
+                taxableTotals.put(taxRule, taxable[taxRule.ordinal()]);
+            }
+        }
+
+        return new EstimateTotals(partyTotals, taxableTotals, labor, material);
+    }
+
+    private static EstimateTotals minorUnits(Collection<EstimateLineItem> lineItems) {
+        long[] parties = new long[PARTIES.length];
+        boolean[] hasParty = new boolean[PARTIES.length];
+        long[] taxable = new long[TAX_RULES.length];
+        boolean[] hasTaxRule = new boolean[TAX_RULES.length];
+        long labor = 0;
+        long material = 0;
+
+        for (EstimateLineItem lineItem : lineItems) {
+            if (!hasAmounts(lineItem)) {
+                continue;
+            }
+
+            long roundedHours = toMinorUnits(lineItem.getHours());
+            long roundedRate = toMinorUnits(lineItem.getLaborRate());
+            long lineMaterial = toMinorUnits(lineItem.getMaterialCost());
+            long lineLabor = roundHalfEven(Math.multiplyExact(roundedRate, roundedHours), POWERS_OF_TEN[CURRENCY_PRECISION]);
+            long lineTotal = Math.addExact(lineLabor, lineMaterial);
+
+            labor = Math.addExact(labor, lineLabor);
+            material = Math.addExact(material, lineMaterial);
+            if (!Objects.isNull(lineItem.getParty())) {
+                int index = lineItem.getParty().ordinal();
+                parties[index] = Math.addExact(parties[index], lineTotal);
+                hasParty[index] = true;
+            }
+            if (!Objects.isNull(lineItem.getTaxRule())) {
+                long lineTaxable = switch (lineItem.getTaxRule()) {
+                    case B -> lineTotal;
+                    case L -> lineLabor;
+                    case M -> lineMaterial;
+                    case N -> 0L;
+                };
+                int index = lineItem.getTaxRule().ordinal();
+                taxable[index] = Math.addExact(taxable[index], lineTaxable);
+                hasTaxRule[index] = true;
+            }
+        }
+
+        Map<EstimateLineItemParty, BigDecimal> partyTotals = new EnumMap<>(EstimateLineItemParty.class);
+        for (EstimateLineItemParty party : PARTIES) {
+            if (hasParty[party.ordinal()]) {
+                partyTotals.put(party, BigDecimal.valueOf(parties[party.ordinal()], CURRENCY_PRECISION));
+            }
+        }
+        Map<EstimateTaxRule, BigDecimal> taxableTotals = new EnumMap<>(EstimateTaxRule.class);
+        for (EstimateTaxRule taxRule : TAX_RULES) {
+            if (hasTaxRule[taxRule.ordinal()]) {
+                taxableTotals.put(taxRule, BigDecimal.valueOf(taxable[taxRule.ordinal()], CURRENCY_PRECISION));
+            }
+        }
+
+        return new EstimateTotals(partyTotals, taxableTotals, BigDecimal.valueOf(labor, CURRENCY_PRECISION), BigDecimal.valueOf(material, CURRENCY_PRECISION));
+    }
+
+    private static boolean hasAmounts(EstimateLineItem lineItem) {
+        return !Objects.isNull(lineItem.getHours()) && !Objects.isNull(lineItem.getMaterialCost()) && !Objects.isNull(lineItem.getLaborRate());
+    }
+
+    /**
+     * @throws ArithmeticException if the amount cannot be represented as a long number of minor units
+     */
+    private static long toMinorUnits(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale <= CURRENCY_PRECISION) {
+            int shift = CURRENCY_PRECISION - scale;
+            if (shift >= POWERS_OF_TEN.length) {
+                throw new ArithmeticException("Amount out of range for minor units.");
+            }
+            return Math.multiplyExact(amount.unscaledValue().longValueExact(), POWERS_OF_TEN[shift]);
+        }
+
+        int shift = scale - CURRENCY_PRECISION;
+        if (shift >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Amount out of range for minor units.");
+        }
+        return roundHalfEven(amount.unscaledValue().longValueExact(), POWERS_OF_TEN[shift]);
+    }
+
+    private static long roundHalfEven(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder > divisor - remainder || (remainder == divisor - remainder && (quotient & 1) != 0)) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+
+    /**
+     * @return the total of the line items the party is responsible for, or zero if there are none
+     */
+    public BigDecimal getPartyTotal(EstimateLineItemParty party) {
+        return partyTotals.getOrDefault(party, BigDecimal.ZERO);
+    }
+
+    /**
+     * @return the amount of the line items with the given tax rule that taxes apply to, or zero if there are none
+     */
+    public BigDecimal getTaxableTotal(EstimateTaxRule taxRule) {
+        return taxableTotals.getOrDefault(taxRule, BigDecimal.ZERO);
+    }
+
+    public Map<EstimateLineItemParty, BigDecimal> getPartyTotals() {
+        return partyTotals;
+    }
+
+    public BigDecimal getLaborTotal() {
+        return laborTotal;
+    }
+
+    public BigDecimal getMaterialTotal() {
+        return materialTotal;
+    }
+
+    public BigDecimal getLineItemTotal() {
+        return laborTotal.add(materialTotal);
+    }
+}
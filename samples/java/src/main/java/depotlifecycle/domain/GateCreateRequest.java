@@ -7,6 +7,9 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -20,7 +23,7 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Table(indexes = {@Index(columnList = "adviceNumber, unitNumber, type"), @Index(columnList = "unitNumber")})
 @Schema(description = "data required to create a gate in or gate out record", requiredProperties = {"adviceNumber", "depot", "unitNumber", "status", "activityTime", "type"})
 @EqualsAndHashCode(of = {"id"})
 @ToString(of = {"id"})
@@ -32,18 +35,25 @@ public class GateCreateRequest {
     Long id;
 
     @Schema(description = "the redelivery or release advice number for the gate record", example = "AHAMG000000", maxLength = 16, required = true, nullable = false)
+    @NotNull
+    @Size(min = 1, max = 16)
     @Column(nullable = false, length = 16)
     String adviceNumber;
 
     @Schema(description = "the storage location for the given advice number", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @NotNull
+    @Valid
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(description = "the unit number of the shipping container", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", example = "CONU1234561", maxLength = 11, required = true, nullable = false)
+    @NotNull
+    @Size(min = 1, max = 11)
     @Column(nullable = false, length = 11)
     String unitNumber;
 
     @Schema(description = "an indicator of the shipping container's status\n\n`A` - Non-damaged\n\n`D` - Damaged\n\n`S` - Sold", example = "D", required = true, nullable = false, implementation = GateRequestStatus.class)
+    @NotNull
     @Column(nullable = false, length = 1)
     @Enumerated(EnumType.STRING)
     GateRequestStatus status;
@@ -51,10 +61,12 @@ public class GateCreateRequest {
     //Issue #124 micronaut-openapi - example is represented wrong, so example is not listed here. example = "2019-04-10T19:37:04Z"
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ssXXX", timezone = "Z")
     @Schema(description = "the date and time of the gate activity in local time; i.e. `2019-04-10T19:37:04Z` \n\n( notation as defined by [RFC 3339, section 5.6](https://tools.ietf.org/html/rfc3339#section-5.6) )", type = "string", format = "date-time", required = true, nullable = false)
+    @NotNull
     @Column(nullable = false)
     ZonedDateTime activityTime;
 
     @Schema(description = "gate type indicator\n\n`IN` - Gate In\n\n`OUT` - Gate Out", maxLength = 3, example = "IN", required = true, nullable = false, implementation = GateRequestType.class)
+    @NotNull
     @Column(nullable = false, length = 3)
     @Enumerated(EnumType.STRING)
     GateRequestType type;
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
@@ -21,7 +22,7 @@ import jakarta.persistence.Table;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Table(indexes = {@Index(columnList = "adviceNumber, unitNumber, depot_id"), @Index(columnList = "unitNumber")})
 @EqualsAndHashCode(of = {"id"})
 @ToString(of = {"id"})
 @Introspected
@@ -36,7 +37,7 @@ public class GateDeleteRequest {
     String adviceNumber;
 
     @JsonIgnore
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @JsonIgnore
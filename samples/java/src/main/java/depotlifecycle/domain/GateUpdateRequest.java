@@ -20,7 +20,7 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Table(indexes = {@Index(columnList = "unitNumber")})
 @Schema(description = "Data required to update a gate in or gate out record. Any data not provided will result in no update.")
 @EqualsAndHashCode(of = {"id"})
 @ToString(of = {"id"})
@@ -31,6 +31,14 @@ public class GateUpdateRequest {
     @JsonIgnore
     Long id;
 
+    @JsonIgnore
+    @Column(nullable = false, length = 16)
+    String adviceNumber;
+
+    @JsonIgnore
+    @Column(nullable = false, length = 11)
+    String unitNumber;
+
     @Schema(example = "D", description = "a new indicator of the shipping container's status\n\n`A` - Non-damaged\n\n`D` - Damaged\n\n`S` - Sold", required = false, nullable = true)
     @Column(nullable = true, length = 1)
     @Enumerated(EnumType.STRING)
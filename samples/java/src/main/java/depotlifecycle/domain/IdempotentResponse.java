@@ -0,0 +1,53 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A response kept for replay to retries that carry the same Idempotency-Key; not part of the api.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = {@Index(columnList = "expiresAt")})
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id", "status"})
+@Introspected
+public class IdempotentResponse {
+    /**
+     * sha-256 of the caller, path and key
+     */
+    @Id
+    @Column(length = 64)
+    String id;
+
+    /**
+     * sha-256 of the request body, so the key cannot be reused for a different request
+     */
+    @Column(length = 64)
+    String requestHash;
+
+    @Column(nullable = false)
+    int status;
+
+    @Column(length = 100)
+    String contentType;
+
+    @Lob
+    @Column(nullable = false)
+    byte[] body;
+
+    @Column(nullable = false)
+    Instant expiresAt;
+}
@@ -48,19 +48,19 @@ public class InsuranceCoverage {
 
     @Schema(description = "any contractual reason why the coverage may not apply", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> exceptions;
 
     @Schema(description = "reasons insurance coverage would be excluded from a repair", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> exclusions;
 
     @Schema(description = "reasons insurance coverage would include a repair", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> inclusions;
 }
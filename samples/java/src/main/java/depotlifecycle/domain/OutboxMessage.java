@@ -0,0 +1,82 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * A gate or estimate message waiting to be sent to the lessor; not part of the api.  Messages with the same ordering key
+ * are delivered one at a time, in the order they were written.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = {@Index(columnList = "status, nextAttemptAt"), @Index(columnList = "orderingKey, status")})
+@EqualsAndHashCode(of = {"id"})
+@ToString(of = {"id", "type", "orderingKey", "status"})
+@Introspected
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    Long id;
+
+    @Column(nullable = false, length = 32)
+    @Enumerated(EnumType.STRING)
+    OutboxMessageType type;
+
+    /**
+     * the unit number of a gate message, or the estimate number of an estimate message
+     */
+    @Column(nullable = false, length = 16)
+    String orderingKey;
+
+    @Column(length = 9)
+    String depot;
+
+    @Column(length = 16)
+    String adviceNumber;
+
+    @Column(length = 11)
+    String unitNumber;
+
+    @Column(length = 16)
+    String estimateNumber;
+
+    /**
+     * the json request body, if the call has one
+     */
+    @Lob
+    String payload;
+
+    @Column(nullable = false, length = 9)
+    @Enumerated(EnumType.STRING)
+    OutboxMessageStatus status = OutboxMessageStatus.PENDING;
+
+    @Column(nullable = false)
+    int attempts;
+
+    @Column(nullable = false)
+    Instant createdAt;
+
+    @Column(nullable = false)
+    Instant nextAttemptAt;
+
+    Instant deliveredAt;
+
+    @Column(length = 1000)
+    String lastError;
+}
@@ -0,0 +1,7 @@
+package depotlifecycle.domain;
+
+public enum OutboxMessageStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package depotlifecycle.domain;
+
+/**
+ * The lessor api call an outbox message is delivered with.
+ */
+public enum OutboxMessageType {
+    GATE_CREATE,
+    GATE_UPDATE,
+    GATE_DELETE,
+    ESTIMATE_CREATE,
+    ESTIMATE_TOTALS,
+    ESTIMATE_CUSTOMER_APPROVE,
+    ESTIMATE_CANCEL
+}
@@ -5,6 +5,10 @@ import com.fasterxml.jackson.annotation.JsonView;
 import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.BatchSize;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -17,7 +21,9 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
+@Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"companyId"})})
 @Schema(description = "represents a company (or location) involving shipping containers", requiredProperties = {"companyId"})
 @EqualsAndHashCode(of = {"companyId"})
 @ToString(of = {"companyId"})
@@ -29,6 +35,7 @@ public class Party {
     Long id;
 
     @Schema(description = "the identifier for this party, often referred to as an EDI Address", pattern = "^[A-Z0-9]{9}$", example = "DEHAMCMRA", maxLength = 9, required = true, nullable = false)
+    @NotNull
     @Column(nullable = false, length = 9)
     String companyId;
 
@@ -42,19 +49,25 @@ public class Party {
 
     @Schema(description = "the contact fax number(s) for this party", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
     @CollectionTable
     List<String> faxNumber;
 
     @Schema(description = "the contact phone number(s) for this party", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
     @CollectionTable
     List<String> phoneNumber;
 
     @Schema(description = "the contact email address(es) for this party", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
     @CollectionTable
     List<String> emailAddress;
 
@@ -69,7 +82,9 @@ public class Party {
     // Address Information
     @Schema(description = "the street address lines", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "party")
     @CollectionTable
     List<String> streetAddress;
 
@@ -7,6 +7,8 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -20,7 +22,9 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "redelivery")
+@Table(indexes = {@Index(columnList = "redeliveryNumber")})
 @Schema(description = "An approval to deliver units to a storage location.", requiredProperties = {"redeliveryNumber", "status", "approvalDate", "depot", "recipient", "owner", "details"})
 @EqualsAndHashCode(of = {"redeliveryNumber"})
 @ToString(of = {"redeliveryNumber"})
@@ -55,27 +59,27 @@ public class Redelivery {
     @ArraySchema(schema = @Schema(example = "customer@example.com"))
     @Schema(description = "list of emails to notify for an estimate revision", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> estimateEmailRecipients;
 
     @ArraySchema(schema = @Schema(example = "An example redelivery level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 
     @Schema(description = "The location for this redelivery", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(description = "the shipping container's owner", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "The intended recipient for this message representing a redelivery", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party recipient;
 
     @Schema(description = "the number of shipping containers assigned to this redelivery.", required = true, nullable = false, minimum = "0", example = "1")
@@ -84,6 +88,7 @@ public class Redelivery {
 
     @ArraySchema(minItems = 1, schema = @Schema(implementation = RedeliveryDetail.class))
     @Schema(description = "groups of like-criteria units", required = true, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "Redelivery_id")})
     List<RedeliveryDetail> details = new ArrayList<>();
 }
@@ -30,7 +30,7 @@ public class RedeliveryDetail {
     Long id;
 
     @Schema(description = "The customer for the contract on this detail.", required = true, nullable = false)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party customer;
 
     @Schema(description = "the contract code for the given shipping containers", required = true, nullable = false, example = "CNCX05-100000", maxLength = 16)
@@ -41,7 +41,7 @@ public class RedeliveryDetail {
     @Column(nullable = false, length = 10)
     String equipment;
 
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "the insurance coverage for damage repairs", required = false, nullable = true, implementation = InsuranceCoverage.class)
     InsuranceCoverage insuranceCoverage;
 
@@ -56,7 +56,8 @@ public class RedeliveryDetail {
 
     @ArraySchema(schema = @Schema(implementation = RedeliveryUnit.class))
     @Schema(description = "the specific units for this redelivery if defined, if not, assumed blanket (any unit matching criteria can be tied up to the quantity limit of this detail)", required = false, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "RedeliveryDetail_id")})
     List<RedeliveryUnit> units = new ArrayList<>();
 
     @Schema(description = "the number of shipping containers assigned to this detail", required = true, nullable = false, minimum = "0", example = "1")
@@ -66,7 +67,7 @@ public class RedeliveryDetail {
     @ArraySchema(schema = @Schema(example = "An example detail level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 }
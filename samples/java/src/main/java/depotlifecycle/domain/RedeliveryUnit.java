@@ -18,7 +18,7 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Table(indexes = {@Index(columnList = "unitNumber")})
 @Schema(description = "information for a specific unit on a redelivery", requiredProperties = {"unitNumber", "manufactureDate", "status", "billingParty"})
 @EqualsAndHashCode(of = {"id"})
 @ToString(of = {"id"})
@@ -42,7 +42,7 @@ public class RedeliveryUnit {
     LocalDate lastOnHireDate;
 
     @Schema(description = "The location this unit was last on-hired.", required = false, nullable = true, implementation = Party.class)
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     Party lastOnHireLocation;
 
     @Schema(description = "Describes the state of the shipping container for this redelivery: \n\n`TIED` - shipping container is assigned to this redelivery and ready to turn in.\n\n`REMOVED` - shipping container was attached to this redelivery, but is no longer valid for redelivery.\n\n`TIN` - shipping container has turned into the storage location of this redelivery.", example = "TIED", required = true, nullable = false)
@@ -53,7 +53,7 @@ public class RedeliveryUnit {
     @ArraySchema(schema = @Schema(example = "An example unit level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 
@@ -72,19 +72,19 @@ public class RedeliveryUnit {
     @ArraySchema(schema = @Schema(example = "https://technical.example.com/bulletin/1234"))
     @Schema(description = "list of technical bulletins associated to this unit - we suggest this be fixed identifiers, codes, or urls", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> technicalBulletins;
 
     @Schema(description = "The party that will handle any repair (estimate & work order) billing for units associated with this detail.", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party billingParty;
 
     @Schema(description = "conveys the estimate instructions to the depot; if the unit is damaged on turn in, the estimate standard that the shipping container should be estimated to and if it should not be estimated, then null", required = false, nullable = true, example = "IICL", maxLength = 10)
     @Column(nullable = true, length = 10)
     String inspectionCriteria;
 
-    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToOne(cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
     @Schema(description = "if this detail is for a reefer shipping container, then this details the cooling machinery information", required = false, nullable = true, implementation = MachineryInfo.class)
     MachineryInfo machineryInfo;
 }
@@ -7,6 +7,8 @@ import io.micronaut.core.annotation.Introspected;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -20,7 +22,10 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "release")
+@NamedEntityGraph(name = "Release.full", attributeNodes = {@NamedAttributeNode("depot"), @NamedAttributeNode("owner"), @NamedAttributeNode("recipient")})
+@Table(indexes = {@Index(columnList = "releaseNumber")})
 @Schema(description = "An approval to remove shipping containers from a storage location.", requiredProperties = {"releaseNumber", "status", "type", "approvalDate", "depot", "owner", "recipient", "details"})
 @EqualsAndHashCode(of = {"releaseNumber"})
 @ToString(of = {"releaseNumber"})
@@ -60,20 +65,20 @@ public class Release {
     @ArraySchema(schema = @Schema(example = "An example release level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 
     @Schema(description = "The location for this release", required = true, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(description = "The owner of the shipping container that approved the release", required = true, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(description = "The intended recipient for this message representing a release", required = true, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party recipient;
 
     @Schema(description = "indicates if an on-hire survey is required for units associated to this release")
@@ -86,6 +91,7 @@ public class Release {
 
     @ArraySchema(minItems = 1, schema = @Schema(implementation = ReleaseDetail.class))
     @Schema(description = "groups of like-criteria units", required = true, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "Release_id")})
     List<ReleaseDetail> details = new ArrayList<>();
 }
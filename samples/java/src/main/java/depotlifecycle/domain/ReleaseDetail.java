@@ -30,7 +30,7 @@ public class ReleaseDetail {
     Long id;
 
     @Schema(description = "The customer for the contract on this detail.", required = true, nullable = false, implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party customer;
 
     @Schema(description = "the contract code for the given shipping containers", required = true, nullable = false, example = "CNCX05-100000", maxLength = 16)
@@ -52,7 +52,8 @@ public class ReleaseDetail {
 
     @ArraySchema(schema = @Schema(implementation = ReleaseUnit.class))
     @Schema(description = "the specific units for this release if defined, if not, assumed blanket (any unit matching criteria can be tied up to the quantity limit of this detail)", required = false, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "ReleaseDetail_id")})
     List<ReleaseUnit> units = new ArrayList<>();
 
     @ArraySchema(schema = @Schema(implementation = ReleaseDetailCriteria.class))
@@ -63,7 +64,7 @@ public class ReleaseDetail {
     @ArraySchema(schema = @Schema(example = "An example detail level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 
@@ -11,6 +11,7 @@ import lombok.ToString;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -34,7 +35,7 @@ public class ReleaseDetailCriteria {
     @JsonIgnore
     Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JsonIgnore
     @JoinColumn(name="releaseDetail_id")
     ReleaseDetail releaseDetail;
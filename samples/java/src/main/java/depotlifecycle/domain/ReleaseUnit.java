@@ -36,7 +36,7 @@ public class ReleaseUnit {
     @ArraySchema(schema = @Schema(example = "An example unit level comment."))
     @Schema(description = "comments pertaining to this unit for the intended recipient of this message", required = false, nullable = false)
     @Lob
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable
     List<String> comments;
 
@@ -18,6 +18,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.ZonedDateTime;
 
 @Data
@@ -37,10 +39,12 @@ public class RepairComplete {
 
     @Schema(description = "the identifier of the work order to repair complete", example = "WHAMG46019", minLength = 1, maxLength = 16, required = true, nullable = false)
     @Column(nullable = false, length = 16)
+    @NotNull
+    @Size(min = 1, max = 16)
     String workOrderNumber;
 
     @Schema(required = true, nullable = false, description = "the storage location where the shipping container is being repaired", implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     //Issue #124 micronaut-openapi - example is represented wrong, so example is not listed here. example = "2018-04-10T19:37:04Z"
@@ -51,5 +55,7 @@ public class RepairComplete {
 
     @Schema(description = "the unit number of the shipping container at the time of repair approval", pattern = "^[A-Z]{4}[X0-9]{6}[A-Z0-9]{0,1}$", required = true, nullable = false, example = "CONU1234561", maxLength = 11)
     @Column(nullable = false, length = 11)
+    @NotNull
+    @Size(min = 1, max = 11)
     String unitNumber;
 }
@@ -0,0 +1,37 @@
+package depotlifecycle.domain;
+
+import io.micronaut.core.annotation.Introspected;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The ISO 6346 size and type code of a shipping container, as listed on the latest redelivery of the unit; not part of
+ * the api.  The code is stored upper case and indexed so equipment searches can seek on an exact code or a code prefix.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = {@Index(columnList = "equipmentCode, unitNumber")})
+@EqualsAndHashCode(of = {"unitNumber"})
+@ToString(of = {"unitNumber", "equipmentCode"})
+@Introspected
+public class UnitEquipment {
+    @Id
+    @Column(length = 11)
+    String unitNumber;
+
+    @Column(nullable = false, length = 10)
+    String equipmentCode;
+
+    @Column
+    ZonedDateTime approvalDate;
+}
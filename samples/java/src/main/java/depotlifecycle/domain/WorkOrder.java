@@ -11,6 +11,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -18,9 +19,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -30,7 +35,9 @@ import java.util.List;
 @JsonView
 @NoArgsConstructor
 @Entity
-@Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "work-order")
+@Table(indexes = {@Index(columnList = "workOrderNumber")})
 @Schema(description = "An approval of a damage estimate signifying a depot may repair a shipping container", requiredProperties = {"workOrderNumber", "depot", "owner", "type", "approvalDate", "lineItems"})
 @EqualsAndHashCode(of = {"workOrderNumber"})
 @Introspected
@@ -50,15 +57,15 @@ public class WorkOrder {
     String workOrderNumber;
 
     @Schema(required = true, nullable = false, description = "the storage location where the shipping container is being repaired", implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party depot;
 
     @Schema(required = true, nullable = false, description = "the owner of the shipping container", implementation = Party.class)
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     Party owner;
 
     @Schema(required = false, nullable = true, description = "the party that will bill the customer portion of damages for this repair", implementation = Party.class)
-    @ManyToOne(optional = true, fetch = FetchType.EAGER)
+    @ManyToOne(optional = true, fetch = FetchType.LAZY)
     Party billingParty;
 
     @Schema(description = "the type of repair approved", example = "SELLCWCA", required = true, nullable = false, maxLength = 11)
@@ -91,6 +98,7 @@ public class WorkOrder {
 
     @ArraySchema(minItems = 1, maxItems = 200, schema = @Schema(implementation = WorkOrderUnit.class))
     @Schema(description = "units associated to this work order", required = true, nullable = false)
-    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(orphanRemoval = true, cascade = {CascadeType.ALL}, fetch = FetchType.LAZY)
+    @JoinTable(indexes = {@Index(columnList = "WorkOrder_id")})
     List<WorkOrderUnit> lineItems = new ArrayList<>();
 }
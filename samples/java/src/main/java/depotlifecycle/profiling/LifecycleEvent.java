@@ -0,0 +1,59 @@
+package depotlifecycle.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder events emitted around the stages of an api request.  Every event carries the OpenAPI
+ * operation id and the company id of the depot, so a recording can be grouped by either.
+ */
+@Category({"Depot Lifecycle", "API"})
+@StackTrace(false)
+abstract class LifecycleEvent extends Event {
+    @Label("Operation Id")
+    String operationId;
+
+    @Label("Depot")
+    @Description("the company id of the depot the request is for")
+    String depot;
+
+    @Name("depotlifecycle.BodyDecode")
+    @Label("Body Decode")
+    @Description("reading and binding the request body, from the end of the filter chain to the controller")
+    static final class BodyDecode extends LifecycleEvent {
+    }
+
+    @Name("depotlifecycle.Validation")
+    @Label("Validation")
+    @Description("checking the request against the existing records")
+    static final class Validation extends LifecycleEvent {
+    }
+
+    @Name("depotlifecycle.PartyResolution")
+    @Label("Party Resolution")
+    @Description("resolving the parties of the request to saved parties")
+    static final class PartyResolution extends LifecycleEvent {
+    }
+
+    @Name("depotlifecycle.RepositorySave")
+    @Label("Repository Save")
+    @Description("saving the request")
+    static final class RepositorySave extends LifecycleEvent {
+    }
+
+    @Name("depotlifecycle.AllocationBuild")
+    @Label("Allocation Build")
+    @Description("building the allocation or response returned to the caller")
+    static final class AllocationBuild extends LifecycleEvent {
+    }
+
+    @Name("depotlifecycle.ResponseEncode")
+    @Label("Response Encode")
+    @Description("writing the response body as json")
+    static final class ResponseEncode extends LifecycleEvent {
+    }
+}
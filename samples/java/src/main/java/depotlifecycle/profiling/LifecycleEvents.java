@@ -0,0 +1,231 @@
+package depotlifecycle.profiling;
+
+import depotlifecycle.domain.Party;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.context.ServerRequestContext;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Emits the {@link LifecycleStage} events of api requests to Java Flight Recorder while a recording is running.  The
+ * recording is started and stopped at runtime through the `recording` management endpoint; a stopped recording is
+ * written to the configured directory for JDK Mission Control.  While nothing is recording, {@link #begin} returns a
+ * shared no-op stage after one volatile read, so the stages cost next to nothing.
+ * <p>
+ * A stage is recorded by the try-with-resources block around it:
+ * <pre>
+ * try (LifecycleEvents.Stage stage = lifecycleEvents.begin(LifecycleStage.REPOSITORY_SAVE, "saveGate", depot)) {
+ *     ...
+ * }
+ * </pre>
+ */
+@Singleton
+public class LifecycleEvents {
+    static final String REQUEST_ATTRIBUTE = "depotlifecycle.profiling.request";
+    private static final Logger LOG = LoggerFactory.getLogger(LifecycleEvents.class);
+    private static final Stage NONE = () -> {
+    };
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ProfilingConfiguration configuration;
+    private volatile Recording recording;
+    private volatile Path lastRecording;
+
+    public LifecycleEvents(ProfilingConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * A recorded stage; closing it commits its event.
+     */
+    public interface Stage extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        if (configuration.isRecordAtStartup()) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (isRecording()) {
+            stop();
+        }
+    }
+
+    public boolean isRecording() {
+        return !Objects.isNull(recording);
+    }
+
+    /**
+     * Starts recording, unless a recording is already running.
+     *
+     * @throws IllegalArgumentException if the configured JFR settings do not exist
+     */
+    public synchronized void start() {
+        if (isRecording()) {
+            return;
+        }
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(configuration.getSettings()));
+        }
+        catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unable to read the JFR settings " + configuration.getSettings(), e);
+        }
+        started.setName("depotlifecycle");
+        started.setToDisk(true);
+        started.setMaxAge(configuration.getMaxAge());
+        started.setMaxSize(configuration.getMaxSize());
+        for (LifecycleStage stage : LifecycleStage.values()) {
+            started.enable(stage.event().getClass()).withThreshold(Duration.ZERO).withoutStackTrace();
+        }
+        started.start();
+
+        recording = started;
+        LOG.info("Started recording lifecycle events with the {} JFR settings", configuration.getSettings());
+    }
+
+    /**
+     * Stops recording and writes the recording to the configured directory.
+     *
+     * @return the recording file, or empty if nothing was recording
+     */
+    public synchronized Optional<Path> stop() {
+        Recording stopped = recording;
+        if (Objects.isNull(stopped)) {
+            return Optional.empty();
+        }
+        recording = null;
+
+        try {
+            Path directory = Objects.isNull(configuration.getDirectory()) || configuration.getDirectory().isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "depotlifecycle-recordings")
+                : Path.of(configuration.getDirectory());
+            Files.createDirectories(directory);
+            Path file = directory.resolve("depotlifecycle-" + FILE_TIME.format(Instant.now()) + ".jfr");
+            stopped.dump(file);
+            lastRecording = file;
+            LOG.info("Stopped recording lifecycle events; wrote {}", file);
+            return Optional.of(file);
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to write the lifecycle recording", e);
+            return Optional.empty();
+        }
+        finally {
+            stopped.close();
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        Recording current = recording;
+        status.put("recording", !Objects.isNull(current));
+        status.put("settings", configuration.getSettings());
+        if (!Objects.isNull(current)) {
+            status.put("startedAt", current.getStartTime());
+        }
+        if (!Objects.isNull(lastRecording)) {
+            status.put("lastRecording", lastRecording.toString());
+        }
+        return status;
+    }
+
+    /**
+     * Begins recording a stage of the current request.  The first stage of a request also ends its body decode.
+     *
+     * @param depot the depot of the request, if known
+     */
+    public Stage begin(LifecycleStage stage, String operationId, @Nullable Party depot) {
+        if (!isRecording()) {
+            return NONE;
+        }
+        return begin(stage, operationId, Objects.isNull(depot) ? null : depot.getCompanyId());
+    }
+
+    /**
+     * @param companyId the company id of the depot of the request, if known
+     * @see #begin(LifecycleStage, String, Party)
+     */
+    public Stage begin(LifecycleStage stage, String operationId, @Nullable String companyId) {
+        if (!isRecording()) {
+            return NONE;
+        }
+
+        ServerRequestContext.currentRequest()
+            .flatMap(request -> request.getAttribute(REQUEST_ATTRIBUTE, RequestEvents.class))
+            .ifPresent(events -> events.decoded(operationId, companyId));
+
+        LifecycleEvent event = stage.event();
+        event.operationId = operationId;
+        event.depot = companyId;
+        event.begin();
+        return event::commit;
+    }
+
+    /**
+     * @return the events of a request that is starting, with its body decode begun
+     */
+    RequestEvents requestStarted() {
+        LifecycleEvent decode = LifecycleStage.BODY_DECODE.event();
+        decode.begin();
+        return new RequestEvents(decode);
+    }
+
+    /**
+     * The events of one request that span the controller: the body decode ends when the controller records its first
+     * stage, and the response encode takes the depot that stage was recorded with.
+     */
+    static final class RequestEvents {
+        private LifecycleEvent decode;
+        private String depot;
+
+        RequestEvents(LifecycleEvent decode) {
+            this.decode = decode;
+        }
+
+        synchronized void decoded(String operationId, @Nullable String companyId) {
+            if (Objects.isNull(depot)) {
+                depot = companyId;
+            }
+            if (!Objects.isNull(decode)) {
+                decode.operationId = operationId;
+                decode.depot = companyId;
+                decode.commit();
+                decode = null;
+            }
+        }
+
+        synchronized LifecycleEvent encode(String operationId) {
+            LifecycleEvent encode = LifecycleStage.RESPONSE_ENCODE.event();
+            encode.operationId = operationId;
+            encode.depot = depot;
+            return encode;
+        }
+    }
+}
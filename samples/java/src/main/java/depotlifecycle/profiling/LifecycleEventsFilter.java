@@ -0,0 +1,77 @@
+package depotlifecycle.profiling;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.profiling.LifecycleEvents.RequestEvents;
+import depotlifecycle.system.ApiMetricsFilter;
+import depotlifecycle.system.PrettyJsonFilter;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Records the body decode and response encode of api requests while {@link LifecycleEvents} is recording.  The decode
+ * begins once every other filter has run and ends when the controller records its first stage.  To time the encode,
+ * the response body is written to json here instead of by the server, with the same object mapper; responses that
+ * are streamed, already written, or pretty printed by the {@link PrettyJsonFilter} are not recorded.
+ */
+@ServerFilter("/api/v2/**")
+public class LifecycleEventsFilter implements Ordered {
+    private static final Logger LOG = LoggerFactory.getLogger(LifecycleEventsFilter.class);
+
+    private final LifecycleEvents lifecycleEvents;
+    private final ObjectMapper objectMapper;
+
+    public LifecycleEventsFilter(LifecycleEvents lifecycleEvents, ObjectMapper objectMapper) {
+        this.lifecycleEvents = lifecycleEvents;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        //the last request filter, so its response filter is the first to see the controller's response
+        return ServerFilterPhase.LAST.order();
+    }
+
+    @RequestFilter
+    public void decode(HttpRequest<?> request) {
+        if (lifecycleEvents.isRecording()) {
+            request.setAttribute(LifecycleEvents.REQUEST_ATTRIBUTE, lifecycleEvents.requestStarted());
+        }
+    }
+
+    @ResponseFilter
+    public void encode(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Optional<RequestEvents> events = request.getAttribute(LifecycleEvents.REQUEST_ATTRIBUTE, RequestEvents.class);
+        if (events.isEmpty() || request.getParameters().get(PrettyJsonFilter.PRETTY_PARAMETER, Boolean.class).orElse(false)) {
+            return;
+        }
+
+        Optional<?> body = response.getBody();
+        if (body.isEmpty() || body.get() instanceof byte[] || body.get() instanceof Publisher || !response.getContentType().map(MediaType.APPLICATION_JSON_TYPE::matches).orElse(true)) {
+            return;
+        }
+
+        LifecycleEvent encode = events.get().encode(ApiMetricsFilter.operationId(request));
+        encode.begin();
+        try {
+            response.body(objectMapper.writeValueAsBytes(body.get())).contentType(MediaType.APPLICATION_JSON_TYPE);
+        }
+        catch (JsonProcessingException e) {
+            //left for the server to write, which will report the failure
+            LOG.debug("Unable to encode response for {}", request.getPath(), e);
+            return;
+        }
+        encode.commit();
+    }
+}
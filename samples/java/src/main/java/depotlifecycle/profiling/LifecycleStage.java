@@ -0,0 +1,25 @@
+package depotlifecycle.profiling;
+
+import java.util.function.Supplier;
+
+/**
+ * The stages of an api request that are recorded by {@link LifecycleEvents}.
+ */
+public enum LifecycleStage {
+    BODY_DECODE(LifecycleEvent.BodyDecode::new),
+    VALIDATION(LifecycleEvent.Validation::new),
+    PARTY_RESOLUTION(LifecycleEvent.PartyResolution::new),
+    REPOSITORY_SAVE(LifecycleEvent.RepositorySave::new),
+    ALLOCATION_BUILD(LifecycleEvent.AllocationBuild::new),
+    RESPONSE_ENCODE(LifecycleEvent.ResponseEncode::new);
+
+    private final Supplier<LifecycleEvent> event;
+
+    LifecycleStage(Supplier<LifecycleEvent> event) {
+        this.event = event;
+    }
+
+    LifecycleEvent event() {
+        return event.get();
+    }
+}
@@ -0,0 +1,40 @@
+package depotlifecycle.profiling;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties(ProfilingConfiguration.PREFIX)
+@Getter
+@Setter
+public class ProfilingConfiguration {
+    public static final String PREFIX = "depotlifecycle.profiling";
+
+    /**
+     * when true, a recording is started with the application instead of through the recording endpoint
+     */
+    private boolean recordAtStartup = false;
+
+    /**
+     * the JFR configuration the recording starts from, i.e. default or profile; the lifecycle events are always
+     * recorded in full
+     */
+    private String settings = "default";
+
+    /**
+     * recordings are written here when they are stopped, defaults to a directory under java.io.tmpdir
+     */
+    private String directory;
+
+    /**
+     * recorded events older than this are discarded while recording
+     */
+    private Duration maxAge = Duration.ofHours(1);
+
+    /**
+     * recorded events are discarded, oldest first, once the recording is larger than this many bytes
+     */
+    private long maxSize = 256L * 1024 * 1024;
+}
@@ -0,0 +1,36 @@
+package depotlifecycle.profiling;
+
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Write;
+
+import java.util.Map;
+
+/**
+ * Starts and stops the lifecycle event recording at runtime: `GET /recording` reports whether it is recording, and
+ * `POST /recording` with `{"enabled": true}` or `{"enabled": false}` starts it or stops it and writes the recording.
+ */
+@Endpoint(id = "recording")
+public class RecordingEndpoint {
+    private final LifecycleEvents lifecycleEvents;
+
+    public RecordingEndpoint(LifecycleEvents lifecycleEvents) {
+        this.lifecycleEvents = lifecycleEvents;
+    }
+
+    @Read
+    public Map<String, Object> status() {
+        return lifecycleEvents.status();
+    }
+
+    @Write
+    public Map<String, Object> record(boolean enabled) {
+        if (enabled) {
+            lifecycleEvents.start();
+        }
+        else {
+            lifecycleEvents.stop();
+        }
+        return lifecycleEvents.status();
+    }
+}
@@ -3,12 +3,25 @@ package depotlifecycle.repositories;
 import depotlifecycle.domain.GateCreateRequest;
 import depotlifecycle.domain.GateRequestType;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Join;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 
 @Repository
 public interface GateCreateRequestRepository extends CrudRepository<GateCreateRequest, Long> {
     boolean existsByAdviceNumberAndUnitNumberAndType(@NotNull @NonNull String adviceNumber, @NotNull @NonNull String unitNumber, @NotNull @NonNull GateRequestType type);
+
+    /**
+     * Reads every gate record with its depot, to build the unit state index.
+     */
+    @Join("depot")
+    @NonNull
+    @Override
+    List<GateCreateRequest> findAll();
+
+    @Join("depot")
+    List<GateCreateRequest> findByUnitNumber(@NotNull @NonNull String unitNumber);
 }
@@ -2,14 +2,27 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.GateDeleteRequest;
 import depotlifecycle.domain.Party;
+import io.micronaut.data.annotation.Join;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.repository.CrudRepository;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Repository
 public interface GateDeleteRequestRepository extends CrudRepository<GateDeleteRequest, Long> {
     boolean existsByDepotAndAdviceNumberAndUnitNumber(@NotNull @NonNull Party depot, @NotNull @NonNull String adviceNumber, @NotNull @NonNull String unitNumber);
+
+    /**
+     * Reads every gate record with its depot, to build the unit state index.
+     */
+    @Join("depot")
+    @NonNull
+    @Override
+    List<GateDeleteRequest> findAll();
+
+    @Join("depot")
+    List<GateDeleteRequest> findByUnitNumber(@NotNull @NonNull String unitNumber);
 }
@@ -1,9 +1,14 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.GateUpdateRequest;
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
 @Repository
 public interface GateUpdateRequestRepository extends CrudRepository<GateUpdateRequest, Long> {
+    List<GateUpdateRequest> findByUnitNumber(@NotNull @NonNull String unitNumber);
 }
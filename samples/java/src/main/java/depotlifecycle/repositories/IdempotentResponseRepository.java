@@ -0,0 +1,14 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.IdempotentResponse;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+@Repository
+public interface IdempotentResponseRepository extends CrudRepository<IdempotentResponse, String> {
+    int deleteByExpiresAtLessThan(@NotNull @NonNull Instant expiresAt);
+}
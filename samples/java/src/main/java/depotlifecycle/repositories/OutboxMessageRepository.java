@@ -0,0 +1,35 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.OutboxMessage;
+import depotlifecycle.domain.OutboxMessageStatus;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.repository.CrudRepository;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxMessageRepository extends CrudRepository<OutboxMessage, Long> {
+    /**
+     * Finds the pending messages that are due, oldest first, leaving out any message that is queued behind a message
+     * with the same ordering key that is still waiting on a retry.
+     */
+    @Query(value = "SELECT m FROM OutboxMessage m WHERE m.status = depotlifecycle.domain.OutboxMessageStatus.PENDING AND m.nextAttemptAt <= :now AND NOT EXISTS (SELECT e.id FROM OutboxMessage e WHERE e.orderingKey = m.orderingKey AND e.status = depotlifecycle.domain.OutboxMessageStatus.PENDING AND e.id < m.id AND e.nextAttemptAt > :now) ORDER BY m.id")
+    List<OutboxMessage> findDue(@NotNull @NonNull Instant now, @NonNull Pageable pageable);
+
+    @Query("UPDATE OutboxMessage m SET m.status = depotlifecycle.domain.OutboxMessageStatus.DELIVERED, m.deliveredAt = :deliveredAt, m.attempts = m.attempts + 1, m.payload = NULL WHERE m.id IN :ids")
+    int updateDelivered(@NotNull @NonNull Collection<Long> ids, @NotNull @NonNull Instant deliveredAt);
+
+    @Query("SELECT MIN(m.createdAt) FROM OutboxMessage m WHERE m.status = depotlifecycle.domain.OutboxMessageStatus.PENDING")
+    Optional<Instant> findOldestPending();
+
+    long countByStatus(@NotNull @NonNull OutboxMessageStatus status);
+
+    int deleteByStatusAndDeliveredAtLessThan(@NotNull @NonNull OutboxMessageStatus status, @NotNull @NonNull Instant deliveredAt);
+}
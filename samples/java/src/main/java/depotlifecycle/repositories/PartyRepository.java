@@ -2,6 +2,7 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Party;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
@@ -10,5 +11,7 @@ import java.util.Optional;
 
 @Repository
 public interface PartyRepository extends CrudRepository<Party, Long> {
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = "natural-keys")
     Optional<Party> findByCompanyId(@NotNull @NonNull String companyId);
 }
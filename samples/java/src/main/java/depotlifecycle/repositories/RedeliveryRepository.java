@@ -2,16 +2,29 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Redelivery;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Join;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RedeliveryRepository extends CrudRepository<Redelivery, Long> {
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = "natural-keys")
     boolean existsByRedeliveryNumber(@NotNull @NonNull String redeliveryNumber);
 
+    /**
+     * Reads every redelivery with its details, to build the unit indexes at startup.
+     */
+    @Join(value = "details", type = Join.Type.LEFT_FETCH)
+    @NonNull
+    @Override
+    List<Redelivery> findAll();
+
     @NonNull
     Optional<Redelivery> findByRedeliveryNumber(@NotNull @NonNull String redeliveryNumber);
 }
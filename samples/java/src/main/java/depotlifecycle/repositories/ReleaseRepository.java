@@ -2,6 +2,7 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.Release;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
@@ -10,6 +11,8 @@ import java.util.Optional;
 
 @Repository
 public interface ReleaseRepository extends CrudRepository<Release, Long> {
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = "natural-keys")
     boolean existsByReleaseNumber(@NotNull @NonNull String releaseNumber);
 
     @NonNull
@@ -0,0 +1,9 @@
+package depotlifecycle.repositories;
+
+import depotlifecycle.domain.UnitEquipment;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+
+@Repository
+public interface UnitEquipmentRepository extends CrudRepository<UnitEquipment, String> {
+}
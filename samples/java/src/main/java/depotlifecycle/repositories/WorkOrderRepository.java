@@ -2,6 +2,7 @@ package depotlifecycle.repositories;
 
 import depotlifecycle.domain.WorkOrder;
 import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
@@ -10,8 +11,12 @@ import java.util.Optional;
 
 @Repository
 public interface WorkOrderRepository extends CrudRepository<WorkOrder, Long> {
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = "natural-keys")
     boolean existsByWorkOrderNumber(@NotNull @NonNull String workOrderNumber);
 
+    @QueryHint(name = "org.hibernate.cacheable", value = "true")
+    @QueryHint(name = "org.hibernate.cacheRegion", value = "natural-keys")
     @NonNull
     Optional<WorkOrder> findByWorkOrderNumber(@NotNull @NonNull String workOrderNumber);
 }
@@ -1,9 +1,28 @@
 package depotlifecycle.repositories;
 
 import depotlifecycle.domain.WorkOrderUnit;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 
+import jakarta.validation.constraints.NotNull;
+import java.util.Optional;
+
 @Repository
 public interface WorkOrderUnitRepository extends CrudRepository<WorkOrderUnit, Long> {
+    /**
+     * Finds only the line item for the unit, without loading the work order or its other line items.
+     */
+    @NonNull
+    @Query("SELECT u FROM WorkOrder w JOIN w.lineItems u WHERE w.workOrderNumber = :workOrderNumber AND u.unitNumber = :unitNumber")
+    Optional<WorkOrderUnit> findOnWorkOrder(@NotNull @NonNull String workOrderNumber, @NotNull @NonNull String unitNumber);
+
+    /**
+     * Marks the unit repaired if it is still tied to the work order.
+     *
+     * @return 1 if the unit was repaired, or 0 if it is not on the work order or was already repaired or removed
+     */
+    @Query("UPDATE WorkOrderUnit u SET u.status = depotlifecycle.domain.WorkOrderUnitStatus.REPAIRED WHERE u.unitNumber = :unitNumber AND u.status = depotlifecycle.domain.WorkOrderUnitStatus.TIED AND u IN (SELECT l FROM WorkOrder w JOIN w.lineItems l WHERE w.workOrderNumber = :workOrderNumber)")
+    int updateRepaired(@NotNull @NonNull String workOrderNumber, @NotNull @NonNull String unitNumber);
 }
@@ -0,0 +1,114 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.domain.UnitEquipment;
+import depotlifecycle.repositories.UnitEquipmentRepository;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the equipment type lookup of every redelivered unit, so estimates - which do not carry an equipment type - can
+ * be searched by the type of their shipping container.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class EquipmentTypes {
+    private static final Logger LOG = LoggerFactory.getLogger(EquipmentTypes.class);
+    private static final Pattern EQUIPMENT_CODE = Pattern.compile("^[A-Z0-9]{1,10}\\**$");
+    private static final int MAX_LENGTH = 10;
+
+    private final RedeliverySearch redeliverySearch;
+    private final UnitEquipmentRepository unitEquipmentRepository;
+
+    /**
+     * An equipment code to search for; either an exact code or, when the search ended in wildcards, a code prefix.
+     */
+    public record EquipmentCode(String code, boolean family) {
+    }
+
+    /**
+     * Parses an exact code (`22G1`) or a family of codes where trailing `*` match any character (`22G*`, `2***`).
+     *
+     * @throws IllegalArgumentException if the code is not in either form
+     */
+    public static EquipmentCode parse(String equipmentCode) {
+        String normalized = equipmentCode.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() > MAX_LENGTH || !EQUIPMENT_CODE.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Equipment code must be an equipment type code, optionally ending in * to match a family of codes.");
+        }
+
+        int wildcard = normalized.indexOf('*');
+        return wildcard < 0 ? new EquipmentCode(normalized, false) : new EquipmentCode(normalized.substring(0, wildcard), true);
+    }
+
+    @EventListener
+    void onStartup(ServerStartupEvent event) {
+        int units = 0;
+        for (Redelivery redelivery : redeliverySearch.findAll()) {
+            units += redelivered(redelivery);
+        }
+        LOG.info("Indexed the equipment type of {} redelivered units", units);
+    }
+
+    /**
+     * Records the equipment type of the units of a created or updated redelivery, unless a unit was since listed on a
+     * more recently approved redelivery.
+     *
+     * @return the number of units on the redelivery
+     */
+    @Transactional
+    public int redelivered(Redelivery redelivery) {
+        int units = 0;
+        for (RedeliveryDetail detail : redelivery.getDetails()) {
+            String equipmentCode = normalize(detail.getEquipment());
+            if (Objects.isNull(equipmentCode)) {
+                continue;
+            }
+
+            for (RedeliveryUnit unit : detail.getUnits()) {
+                if (Objects.isNull(unit.getUnitNumber())) {
+                    continue;
+                }
+
+                units++;
+                Optional<UnitEquipment> current = unitEquipmentRepository.findById(unit.getUnitNumber());
+                if (current.isPresent() && !Objects.isNull(current.get().getApprovalDate())
+                    && (Objects.isNull(redelivery.getApprovalDate()) || redelivery.getApprovalDate().isBefore(current.get().getApprovalDate()))) {
+                    continue;
+                }
+
+                UnitEquipment equipment = current.orElseGet(UnitEquipment::new);
+                equipment.setUnitNumber(unit.getUnitNumber());
+                equipment.setEquipmentCode(equipmentCode);
+                equipment.setApprovalDate(redelivery.getApprovalDate());
+                if (current.isPresent()) {
+                    unitEquipmentRepository.update(equipment);
+                }
+                else {
+                    unitEquipmentRepository.save(equipment);
+                }
+            }
+        }
+        return units;
+    }
+
+    private static String normalize(@Nullable String equipment) {
+        if (Objects.isNull(equipment) || equipment.isBlank()) {
+            return null;
+        }
+        return equipment.trim().toUpperCase(Locale.ROOT);
+    }
+}
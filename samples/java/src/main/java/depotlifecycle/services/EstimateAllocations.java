@@ -0,0 +1,108 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateAllocation;
+import depotlifecycle.domain.EstimateCustomerApproval;
+import depotlifecycle.domain.EstimateLineItemParty;
+import depotlifecycle.domain.EstimateTotals;
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.PreliminaryDecision;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Computes the allocation of an estimate revision once, when the revision is created, and stores it with the revision
+ * so customer approvals and fetches return it as saved instead of recomputing the totals.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class EstimateAllocations {
+    //the latest revision, unless the estimate was cancelled, with the allocation and approval it is about to replace
+    private static final String APPROVABLE_REVISION = "SELECT e FROM Estimate e" +
+        " LEFT JOIN FETCH e.allocation a" +
+        " LEFT JOIN FETCH a.depot" +
+        " LEFT JOIN FETCH a.preliminaryDecision" +
+        " LEFT JOIN FETCH e.customerApproval" +
+        " WHERE e.estimateNumber = :estimateNumber AND e.depot = :depot" +
+        " AND NOT EXISTS (SELECT c.id FROM EstimateCancelRequest c WHERE c.estimateNumber = e.estimateNumber AND c.depot = e.depot)" +
+        " ORDER BY e.revision DESC, e.id DESC";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Computes the allocation of a new estimate revision and attaches it to the revision, which must be saved with
+     * {@link #save} to keep it.
+     */
+    public EstimateAllocation allocate(Estimate estimate) {
+        EstimateAllocation allocation = compute(estimate);
+        estimate.setAllocation(allocation);
+        return allocation;
+    }
+
+    /**
+     * Saves a new estimate revision along with its allocation.
+     */
+    @Transactional
+    public void save(Estimate estimate) {
+        entityManager.persist(estimate);
+        if (!Objects.isNull(estimate.getAllocation())) {
+            estimate.getAllocation().setRelatedId(estimate.getId());
+        }
+    }
+
+    /**
+     * Records a customer approval against the latest revision of an estimate.  The revision is found, and checked for
+     * a cancellation, with one query; the approval is then written with the revision's update.
+     *
+     * @return the saved allocation of the approved revision, or empty if the estimate does not exist or was cancelled
+     */
+    @Transactional
+    public Optional<EstimateAllocation> approve(String estimateNumber, Party depot, EstimateCustomerApproval customerApproval) {
+        Optional<Estimate> estimate = entityManager.createQuery(APPROVABLE_REVISION, Estimate.class)
+            .setParameter("estimateNumber", estimateNumber)
+            .setParameter("depot", depot)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+
+        estimate.ifPresent(revision -> {
+            if (Objects.isNull(revision.getAllocation())) {
+                //revisions saved without an allocation are allocated on their first approval
+                EstimateAllocation allocation = compute(revision);
+                allocation.setRelatedId(revision.getId());
+                revision.setAllocation(allocation);
+            }
+            revision.setCustomerApproval(customerApproval);
+            //the allocation is returned once the session is closed
+            PartyResolver.initialize(revision.getAllocation().getDepot());
+        });
+
+        return estimate.map(Estimate::getAllocation);
+    }
+
+    //Generate an example allocation for the purposes of this demo
+    private static EstimateAllocation compute(Estimate estimate) {
+        EstimateAllocation allocation = new EstimateAllocation();
+        allocation.setRelatedId(estimate.getId());
+        allocation.setEstimateNumber(estimate.getEstimateNumber());
+        allocation.setDepot(estimate.getDepot());
+        allocation.setRevision(estimate.getRevision());
+        EstimateTotals totals = estimate.computeTotals();
+        allocation.setTotal(estimate.getTotal());
+        allocation.setOwnerTotal(totals.getPartyTotal(EstimateLineItemParty.O));
+        allocation.setInsuranceTotal(totals.getPartyTotal(EstimateLineItemParty.I));
+        allocation.setCustomerTotal(totals.getPartyTotal(EstimateLineItemParty.U));
+        allocation.setCtl(false); //assume not a CTL for demo purposes
+        allocation.setComments(estimate.getComments());//Assume the returned comments are the same for demo
+
+        PreliminaryDecision preliminaryDecision = new PreliminaryDecision();
+        preliminaryDecision.setRecommendation("FIX");
+        allocation.setPreliminaryDecision(preliminaryDecision);
+        return allocation;
+    }
+}
@@ -0,0 +1,177 @@
+package depotlifecycle.services;
+
+import depotlifecycle.EstimateSummary;
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.UnitEquipment;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Estimate searches built from only the criteria supplied, paged by seeking past the last returned identifier.  The
+ * summary search selects scalar columns so the line item, part, approval and allocation graph is never loaded; the full
+ * view reads the parties, approval and allocation of each estimate with the estimate itself (see the
+ * {@value #FULL_VIEW} entity graph) and batch fetches the rest.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class EstimateSearch {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+    static final String FULL_VIEW = "Estimate.full";
+
+    private final EntityManager entityManager;
+
+    @ReadOnly
+    public SearchPage<Estimate> search(EstimateSearchCriteria criteria, @Nullable String cursor, @Nullable Integer limit) {
+        int pageSize = pageSize(limit);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Estimate> query = cb.createQuery(Estimate.class);
+        Root<Estimate> root = query.from(Estimate.class);
+        query.select(root)
+            .where(predicates(cb, query, root, criteria, SearchPage.decodeCursor(cursor)))
+            .orderBy(cb.asc(root.get("id")));
+
+        List<Estimate> fetched = entityManager.createQuery(query)
+            .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(FULL_VIEW))
+            .setMaxResults(pageSize + 1)
+            .getResultList();
+        fetched.forEach(EstimateSearch::initialize);
+        return SearchPage.of(fetched, pageSize, Estimate::getId);
+    }
+
+    @ReadOnly
+    public SearchPage<EstimateSummary> summarize(EstimateSearchCriteria criteria, @Nullable String cursor, @Nullable Integer limit) {
+        int pageSize = pageSize(limit);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EstimateSummary> query = cb.createQuery(EstimateSummary.class);
+        Root<Estimate> root = query.from(Estimate.class);
+        Join<Estimate, Party> depot = root.join("depot");
+        Join<Estimate, Party> customer = root.join("customer", JoinType.LEFT);
+        query.select(cb.construct(EstimateSummary.class,
+                root.get("id"),
+                root.get("estimateNumber"),
+                root.get("unitNumber"),
+                root.get("revision"),
+                root.get("condition"),
+                root.get("type"),
+                root.get("estimateTime"),
+                depot.get("companyId"),
+                customer.get("companyId"),
+                root.get("currency"),
+                root.get("total")))
+            .where(predicates(cb, query, root, criteria, SearchPage.decodeCursor(cursor)))
+            .orderBy(cb.asc(root.get("id")));
+
+        List<EstimateSummary> fetched = entityManager.createQuery(query).setMaxResults(pageSize + 1).getResultList();
+        return SearchPage.of(fetched, pageSize, EstimateSummary::getRelatedId);
+    }
+
+    /**
+     * Finds the given revision of an estimate, or the latest revision when none is specified.
+     */
+    @ReadOnly
+    public Optional<Estimate> findRevision(String estimateNumber, Party depot, @Nullable Integer revision) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Estimate> query = cb.createQuery(Estimate.class);
+        Root<Estimate> root = query.from(Estimate.class);
+        query.select(root)
+            .where(predicates(cb, query, root, new EstimateSearchCriteria(estimateNumber, depot, null, null, revision, null), null))
+            .orderBy(cb.desc(root.get("revision")), cb.desc(root.get("id")));
+
+        Optional<Estimate> estimate = entityManager.createQuery(query)
+            .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(FULL_VIEW))
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+        estimate.ifPresent(EstimateSearch::initialize);
+        return estimate;
+    }
+
+    /**
+     * Loads the rest of the full estimate view - the party details, line items, their parts and the photos - while the
+     * session is open.  The collections are batch fetched, so a page of estimates is read with a statement per
+     * collection rather than per estimate.
+     */
+    private static void initialize(Estimate estimate) {
+        PartyResolver.initialize(estimate.getRequester());
+        PartyResolver.initialize(estimate.getDepot());
+        PartyResolver.initialize(estimate.getOwner());
+        PartyResolver.initialize(estimate.getCustomer());
+        if (!Objects.isNull(estimate.getAllocation())) {
+            PartyResolver.initialize(estimate.getAllocation().getDepot());
+        }
+        Hibernate.initialize(estimate.getPhotos());
+        for (EstimateLineItem lineItem : estimate.getLineItems()) {
+            Hibernate.initialize(lineItem.getParts());
+            Hibernate.initialize(lineItem.getPhotos());
+        }
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Estimate> root, EstimateSearchCriteria criteria, @Nullable Long after) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (!Objects.isNull(criteria.estimateNumber())) {
+            predicates.add(cb.equal(root.get("estimateNumber"), criteria.estimateNumber()));
+        }
+        if (!Objects.isNull(criteria.depot())) {
+            predicates.add(cb.equal(root.get("depot"), criteria.depot()));
+        }
+        if (!Objects.isNull(criteria.unitNumber())) {
+            predicates.add(cb.equal(root.get("unitNumber"), criteria.unitNumber()));
+        }
+        if (!Objects.isNull(criteria.customer())) {
+            predicates.add(cb.equal(root.get("customer"), criteria.customer()));
+        }
+        if (!Objects.isNull(criteria.revision())) {
+            predicates.add(cb.equal(root.get("revision"), criteria.revision()));
+        }
+        if (!Objects.isNull(criteria.equipmentCode())) {
+            //seeks the equipment code index for the matching units, then the estimate unit number index
+            Subquery<String> units = query.subquery(String.class);
+            Root<UnitEquipment> equipment = units.from(UnitEquipment.class);
+            EquipmentTypes.EquipmentCode equipmentCode = criteria.equipmentCode();
+            units.select(equipment.get("unitNumber"))
+                .where(equipmentCode.family()
+                    ? cb.like(equipment.get("equipmentCode"), equipmentCode.code() + "%")
+                    : cb.equal(equipment.get("equipmentCode"), equipmentCode.code()));
+            predicates.add(root.get("unitNumber").in(units));
+        }
+        if (!Objects.isNull(after)) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), after));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static int pageSize(@Nullable Integer limit) {
+        if (Objects.isNull(limit)) {
+            return DEFAULT_LIMIT;
+        }
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+
+        return limit;
+    }
+}
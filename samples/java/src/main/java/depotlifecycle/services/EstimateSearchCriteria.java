@@ -0,0 +1,15 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Party;
+import io.micronaut.core.annotation.Nullable;
+
+/**
+ * The optional filters of an estimate search; only the filters that are set become predicates.
+ */
+public record EstimateSearchCriteria(@Nullable String estimateNumber,
+                                     @Nullable Party depot,
+                                     @Nullable String unitNumber,
+                                     @Nullable Party customer,
+                                     @Nullable Integer revision,
+                                     @Nullable EquipmentTypes.EquipmentCode equipmentCode) {
+}
@@ -0,0 +1,151 @@
+package depotlifecycle.services;
+
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateRequestType;
+import depotlifecycle.system.ApiErrorHandling;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Creates gate records in chunks: each chunk is checked for duplicates with one query and inserted in one transaction so
+ * Hibernate can send the inserts as JDBC batches (see hibernate.jdbc.batch_size).  Records that fail validation are
+ * reported individually without failing the rest of their chunk; when the chunk insert fails, its records are inserted
+ * one at a time so each gets its own result.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class GateBatchIngestion {
+    public static final int CHUNK_SIZE = 500;
+    private static final Logger LOG = LoggerFactory.getLogger(GateBatchIngestion.class);
+    private static final String UNABLE_TO_SAVE = "Unable to save gate.";
+
+    private final EntityManager entityManager;
+    private final PartyResolver partyResolver;
+    private final Validator validator;
+
+    /**
+     * The result of a single gate record; either the saved gate or why it was not saved.
+     */
+    public record Outcome(@Nullable GateCreateRequest saved, @Nullable ErrorResponse error) {
+    }
+
+    record GateKey(String adviceNumber, String unitNumber, GateRequestType type) {
+    }
+
+    /**
+     * @param rejectDuplicates when true, gates that already exist, or that repeat within the chunk, are not saved
+     * @return an outcome for every gate, in order
+     */
+    public List<Outcome> ingest(List<GateCreateRequest> chunk, boolean rejectDuplicates) {
+        Set<GateKey> existing = rejectDuplicates ? existing(chunk) : Set.of();
+        Set<GateKey> seen = new HashSet<>();
+
+        List<Outcome> outcomes = new ArrayList<>(chunk.size());
+        List<GateCreateRequest> accepted = new ArrayList<>(chunk.size());
+        for (GateCreateRequest gate : chunk) {
+            ErrorResponse error = validate(gate);
+            if (Objects.isNull(error) && rejectDuplicates) {
+                GateKey key = new GateKey(gate.getAdviceNumber(), gate.getUnitNumber(), gate.getType());
+                if (existing.contains(key) || !seen.add(key)) {
+                    error = ApiErrorHandling.errorResponse(new IllegalArgumentException("Gate already exists; please update instead."), UNABLE_TO_SAVE);
+                }
+            }
+
+            if (Objects.isNull(error)) {
+                try {
+                    //parties are resolved before the insert transaction so a rolled back chunk cannot leave them cached
+                    gate.setDepot(partyResolver.resolve(gate.getDepot()));
+                    accepted.add(gate);
+                    outcomes.add(new Outcome(gate, null));
+                }
+                catch (RuntimeException e) {
+                    LOG.warn("Unable to resolve the depot of gate {} / {}", gate.getAdviceNumber(), gate.getUnitNumber(), e);
+                    outcomes.add(new Outcome(null, ApiErrorHandling.errorResponse(e, UNABLE_TO_SAVE)));
+                }
+            }
+            else {
+                outcomes.add(new Outcome(null, error));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                persist(accepted);
+            }
+            catch (RuntimeException e) {
+                LOG.info("Unable to save a chunk of {} gates, saving them one at a time", accepted.size(), e);
+                outcomes.replaceAll(outcome -> Objects.isNull(outcome.saved()) ? outcome : persistOne(outcome.saved()));
+            }
+        }
+
+        return outcomes;
+    }
+
+    @Transactional
+    public void persist(List<GateCreateRequest> gates) {
+        for (GateCreateRequest gate : gates) {
+            entityManager.persist(gate);
+        }
+    }
+
+    private Outcome persistOne(GateCreateRequest gate) {
+        //identifiers assigned by the rolled back chunk insert were never stored
+        gate.setId(null);
+        gate.getPhotos().forEach(photo -> photo.setId(null));
+
+        try {
+            persist(List.of(gate));
+            return new Outcome(gate, null);
+        }
+        catch (RuntimeException e) {
+            LOG.warn("Unable to save gate {} / {}", gate.getAdviceNumber(), gate.getUnitNumber(), e);
+            return new Outcome(null, ApiErrorHandling.errorResponse(e, UNABLE_TO_SAVE));
+        }
+    }
+
+    @ReadOnly
+    public Set<GateKey> existing(Collection<GateCreateRequest> gates) {
+        Set<String> unitNumbers = new HashSet<>();
+        for (GateCreateRequest gate : gates) {
+            if (!Objects.isNull(gate) && !Objects.isNull(gate.getUnitNumber())) {
+                unitNumbers.add(gate.getUnitNumber());
+            }
+        }
+        if (unitNumbers.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<GateKey> existing = new HashSet<>();
+        entityManager.createQuery("select g.adviceNumber, g.unitNumber, g.type from GateCreateRequest g where g.unitNumber in :unitNumbers", Object[].class)
+            .setParameter("unitNumbers", unitNumbers)
+            .getResultStream()
+            .forEach(row -> existing.add(new GateKey((String) row[0], (String) row[1], (GateRequestType) row[2])));
+        return existing;
+    }
+
+    @Nullable
+    private ErrorResponse validate(@Nullable GateCreateRequest gate) {
+        if (Objects.isNull(gate)) {
+            return ApiErrorHandling.errorResponse(new IllegalArgumentException("Gate must be defined."), UNABLE_TO_SAVE);
+        }
+
+        Set<ConstraintViolation<GateCreateRequest>> violations = validator.validate(gate);
+        return violations.isEmpty() ? null : ApiErrorHandling.errorResponse(violations);
+    }
+}
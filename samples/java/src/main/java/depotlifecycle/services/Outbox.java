@@ -0,0 +1,92 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.commands.EstimateCreateCommand;
+import depotlifecycle.commands.EstimateTotalsCommand;
+import depotlifecycle.domain.EstimateCustomerApproval;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.domain.OutboxMessage;
+import depotlifecycle.domain.OutboxMessageType;
+import depotlifecycle.repositories.OutboxMessageRepository;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Queues gate and estimate messages for the lessor instead of calling its api while the user waits.  Each message is
+ * written in the caller's transaction, or its own when there is none, and is sent later by the
+ * {@link OutboxDispatcher}.  Gate messages are ordered by unit number and estimate messages by estimate number.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class Outbox {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public OutboxMessage gateCreate(GateCreateRequest gateCreateRequest) {
+        String depot = Objects.isNull(gateCreateRequest.getDepot()) ? null : gateCreateRequest.getDepot().getCompanyId();
+        return queue(OutboxMessageType.GATE_CREATE, gateCreateRequest.getUnitNumber(), depot, gateCreateRequest.getAdviceNumber(), gateCreateRequest.getUnitNumber(), null, gateCreateRequest);
+    }
+
+    @Transactional
+    public OutboxMessage gateUpdate(String depot, String adviceNumber, String unitNumber, GateUpdateRequest gateUpdateRequest) {
+        return queue(OutboxMessageType.GATE_UPDATE, unitNumber, depot, adviceNumber, unitNumber, null, gateUpdateRequest);
+    }
+
+    @Transactional
+    public OutboxMessage gateDelete(String depot, String adviceNumber, String unitNumber) {
+        return queue(OutboxMessageType.GATE_DELETE, unitNumber, depot, adviceNumber, unitNumber, null, null);
+    }
+
+    @Transactional
+    public OutboxMessage estimateCreate(EstimateCreateCommand cmd) {
+        String depot = Objects.isNull(cmd.getDepot()) ? null : cmd.getDepot().getCompanyId();
+        return queue(OutboxMessageType.ESTIMATE_CREATE, cmd.getEstimateNumber(), depot, null, cmd.getUnitNumber(), cmd.getEstimateNumber(), cmd);
+    }
+
+    @Transactional
+    public OutboxMessage estimateTotals(EstimateTotalsCommand cmd) {
+        String depot = Objects.isNull(cmd.getDepot()) ? null : cmd.getDepot().getCompanyId();
+        return queue(OutboxMessageType.ESTIMATE_TOTALS, cmd.getEstimateNumber(), depot, null, null, cmd.getEstimateNumber(), cmd);
+    }
+
+    @Transactional
+    public OutboxMessage estimateCustomerApprove(String estimateNumber, String depot, EstimateCustomerApproval customerApproval) {
+        return queue(OutboxMessageType.ESTIMATE_CUSTOMER_APPROVE, estimateNumber, depot, null, null, estimateNumber, customerApproval);
+    }
+
+    @Transactional
+    public OutboxMessage estimateCancel(String estimateNumber, String depot) {
+        return queue(OutboxMessageType.ESTIMATE_CANCEL, estimateNumber, depot, null, null, estimateNumber, null);
+    }
+
+    private OutboxMessage queue(OutboxMessageType type, String orderingKey, @Nullable String depot, @Nullable String adviceNumber,
+                                @Nullable String unitNumber, @Nullable String estimateNumber, @Nullable Object payload) {
+        Instant now = Instant.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setOrderingKey(orderingKey);
+        message.setDepot(depot);
+        message.setAdviceNumber(adviceNumber);
+        message.setUnitNumber(unitNumber);
+        message.setEstimateNumber(estimateNumber);
+        message.setCreatedAt(now);
+        message.setNextAttemptAt(now);
+        if (!Objects.isNull(payload)) {
+            try {
+                message.setPayload(objectMapper.writeValueAsString(payload));
+            }
+            catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Unable to queue " + type + " for " + orderingKey, e);
+            }
+        }
+        return outboxMessageRepository.save(message);
+    }
+}
@@ -0,0 +1,206 @@
+package depotlifecycle.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.clients.EstimateClient;
+import depotlifecycle.clients.GateClient;
+import depotlifecycle.commands.EstimateCreateCommand;
+import depotlifecycle.commands.EstimateTotalsCommand;
+import depotlifecycle.domain.EstimateCustomerApproval;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.domain.OutboxMessage;
+import depotlifecycle.domain.OutboxMessageStatus;
+import depotlifecycle.repositories.OutboxMessageRepository;
+import depotlifecycle.system.OutboxConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the queued outbox messages to the lessor.  Due messages are read a batch at a time and grouped by ordering key;
+ * the groups are delivered concurrently, each one message at a time and in order, and a group stops at its first
+ * failure so nothing behind it overtakes it.  Failed deliveries are retried with an exponential backoff until they are
+ * rejected by the lessor or run out of attempts.  Creates carry an Idempotency-Key derived from the message, so a
+ * delivery that is retried after a lost response is not applied twice.
+ */
+@Singleton
+public class OutboxDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxConfiguration configuration;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final GateClient gateClient;
+    private final EstimateClient estimateClient;
+    private final ObjectMapper objectMapper;
+    private final Timer lag;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    public OutboxDispatcher(OutboxConfiguration configuration, OutboxMessageRepository outboxMessageRepository, GateClient gateClient,
+                            EstimateClient estimateClient, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.gateClient = gateClient;
+        this.estimateClient = estimateClient;
+        this.objectMapper = objectMapper;
+        this.lag = meterRegistry.timer("depotlifecycle.outbox.dispatch.lag");
+        this.delivered = meterRegistry.counter("depotlifecycle.outbox.deliveries", "result", "delivered");
+        this.retried = meterRegistry.counter("depotlifecycle.outbox.deliveries", "result", "retried");
+        this.failed = meterRegistry.counter("depotlifecycle.outbox.deliveries", "result", "failed");
+        meterRegistry.gauge("depotlifecycle.outbox.pending", pending);
+        meterRegistry.gauge("depotlifecycle.outbox.oldest.pending.seconds", oldestPendingSeconds);
+    }
+
+    @Scheduled(fixedDelay = "${depotlifecycle.outbox.poll-interval:1s}")
+    void drain() {
+        if (!configuration.isEnabled()) {
+            return;
+        }
+
+        //keep reading while whole batches are due, so a burst is not limited to one batch per poll
+        List<OutboxMessage> due;
+        do {
+            due = outboxMessageRepository.findDue(Instant.now(), Pageable.from(0, configuration.getBatchSize()));
+            dispatch(due);
+        } while (due.size() >= configuration.getBatchSize());
+
+        pending.set(outboxMessageRepository.countByStatus(OutboxMessageStatus.PENDING));
+        oldestPendingSeconds.set(outboxMessageRepository.findOldestPending()
+            .map(createdAt -> Duration.between(createdAt, Instant.now()).toSeconds())
+            .orElse(0L));
+    }
+
+    @Scheduled(fixedDelay = "1h", initialDelay = "1h")
+    void purge() {
+        int purged = outboxMessageRepository.deleteByStatusAndDeliveredAtLessThan(OutboxMessageStatus.DELIVERED, Instant.now().minus(configuration.getRetention()));
+        LOG.debug("Purged {} delivered outbox messages", purged);
+    }
+
+    private void dispatch(List<OutboxMessage> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<OutboxMessage>> byKey = new LinkedHashMap<>();
+        for (OutboxMessage message : due) {
+            byKey.computeIfAbsent(message.getOrderingKey(), key -> new ArrayList<>()).add(message);
+        }
+
+        List<Long> deliveredIds = Collections.synchronizedList(new ArrayList<>());
+        Flux.fromIterable(byKey.values())
+            .flatMap(messages -> Mono.fromRunnable(() -> deliverInOrder(messages, deliveredIds)).subscribeOn(Schedulers.boundedElastic()), configuration.getConcurrency())
+            .blockLast();
+
+        if (!deliveredIds.isEmpty()) {
+            outboxMessageRepository.updateDelivered(deliveredIds, Instant.now());
+        }
+    }
+
+    private void deliverInOrder(List<OutboxMessage> messages, List<Long> deliveredIds) {
+        for (OutboxMessage message : messages) {
+            try {
+                send(message);
+            }
+            catch (RuntimeException e) {
+                failed(message, e);
+                return;
+            }
+
+            deliveredIds.add(message.getId());
+            delivered.increment();
+            lag.record(Duration.between(message.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    private void send(OutboxMessage message) {
+        String idempotencyKey = "outbox-" + message.getId();
+        switch (message.getType()) {
+            case GATE_CREATE -> Mono.from(gateClient.create(read(message, GateCreateRequest.class), idempotencyKey)).block();
+            case GATE_UPDATE -> Mono.from(gateClient.update(message.getDepot(), message.getAdviceNumber(), message.getUnitNumber(), read(message, GateUpdateRequest.class))).block();
+            case GATE_DELETE -> gateClient.delete(message.getDepot(), message.getAdviceNumber(), message.getUnitNumber());
+            case ESTIMATE_CREATE -> Mono.from(estimateClient.create(read(message, EstimateCreateCommand.class), idempotencyKey)).block();
+            case ESTIMATE_TOTALS -> estimateClient.update(message.getEstimateNumber(), read(message, EstimateTotalsCommand.class));
+            case ESTIMATE_CUSTOMER_APPROVE -> Mono.from(estimateClient.customerApprove(message.getEstimateNumber(), message.getDepot(), read(message, EstimateCustomerApproval.class))).block();
+            case ESTIMATE_CANCEL -> estimateClient.delete(message.getEstimateNumber(), message.getDepot());
+        }
+    }
+
+    private <T> T read(OutboxMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read the payload of outbox message " + message.getId(), e);
+        }
+    }
+
+    private void failed(OutboxMessage message, RuntimeException e) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(truncate(e instanceof HttpClientResponseException response
+            ? response.getStatus().getCode() + " " + response.getResponse().getBody(String.class).orElse(response.getMessage())
+            : e.getMessage()));
+
+        if (isRejected(e) || message.getAttempts() >= configuration.getMaxAttempts()) {
+            message.setStatus(OutboxMessageStatus.FAILED);
+            failed.increment();
+            LOG.error("Outbox message {} failed after {} attempts and will not be retried: {}", message, message.getAttempts(), message.getLastError());
+        }
+        else {
+            message.setNextAttemptAt(Instant.now().plus(backoff(message.getAttempts())));
+            retried.increment();
+            LOG.warn("Outbox message {} failed on attempt {}; retrying at {}: {}", message, message.getAttempts(), message.getNextAttemptAt(), message.getLastError());
+        }
+
+        outboxMessageRepository.update(message);
+    }
+
+    /**
+     * @return true if retrying the message would fail the same way
+     */
+    private static boolean isRejected(RuntimeException e) {
+        if (e instanceof IllegalArgumentException) {
+            return true;
+        }
+        if (e instanceof HttpClientResponseException response) {
+            HttpStatus status = response.getStatus();
+            return status.getCode() >= 400 && status.getCode() < 500 && status != HttpStatus.REQUEST_TIMEOUT && status != HttpStatus.CONFLICT && status != HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return false;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = configuration.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(configuration.getMaxBackoff()) > 0 ? configuration.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,231 @@
+package depotlifecycle.services;
+
+import depotlifecycle.commands.PartyCommand;
+import depotlifecycle.domain.Party;
+import depotlifecycle.repositories.PartyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Resolves parties embedded in api messages to a single persisted row per company id.  The same few hundred facility
+ * codes repeat on nearly every message, so managed parties are interned in a bounded, least recently used cache and a
+ * party is only written when the content received differs from what was last stored.
+ */
+@Singleton
+public class PartyResolver {
+    private static final Logger LOG = LoggerFactory.getLogger(PartyResolver.class);
+
+    private final PartyRepository partyRepository;
+    private final Map<String, CachedParty> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter writes;
+
+    public PartyResolver(PartyRepository partyRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${depotlifecycle.party-cache.maximum-size:1000}") int maximumSize) {
+        this.partyRepository = partyRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedParty> eldest) {
+                return size() > maximumSize;
+            }
+        });
+        this.hits = meterRegistry.counter("depotlifecycle.party.cache", "result", "hit");
+        this.misses = meterRegistry.counter("depotlifecycle.party.cache", "result", "miss");
+        this.writes = meterRegistry.counter("depotlifecycle.party.writes");
+        meterRegistry.gaugeMapSize("depotlifecycle.party.cache.size", Collections.emptyList(), cache);
+    }
+
+    /**
+     * Returns the managed party for the given message party, inserting or updating the stored row only when its
+     * content has changed.
+     */
+    public Party resolve(@Nullable Party party) {
+        if (Objects.isNull(party)) {
+            return null;
+        }
+
+        if (Objects.isNull(party.getCompanyId())) {
+            //let the repository report the missing company id as it always has
+            return partyRepository.save(party);
+        }
+
+        PartyContent content = PartyContent.of(party);
+        CachedParty cached = cache.get(party.getCompanyId());
+        if (cached != null && cached.content().equals(content)) {
+            hits.increment();
+            return cached.party();
+        }
+
+        misses.increment();
+        return upsert(party, content);
+    }
+
+    /**
+     * Returns the managed party for the given company id, creating a bare party when none is known yet.  Existing
+     * party details are never overwritten by this method.
+     */
+    public Party resolve(@NonNull String companyId) {
+        CachedParty cached = cache.get(companyId);
+        if (cached != null) {
+            hits.increment();
+            return cached.party();
+        }
+
+        misses.increment();
+        synchronized (this) {
+            Optional<Party> existing = load(companyId);
+            if (existing.isPresent()) {
+                return remember(existing.get());
+            }
+
+            Party party = new Party();
+            party.setCompanyId(companyId);
+            writes.increment();
+            return remember(partyRepository.save(party));
+        }
+    }
+
+    /**
+     * Looks up a party by company id, answering from the cache when possible.
+     */
+    public Optional<Party> find(@NonNull String companyId) {
+        CachedParty cached = cache.get(companyId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached.party());
+        }
+
+        misses.increment();
+        return load(companyId).map(this::remember);
+    }
+
+    /**
+     * Forgets the cached party, so the next lookup reads the stored party; called whenever a party is edited outside
+     * of {@link #resolve(Party)}.
+     */
+    public void invalidate(@NonNull String companyId) {
+        cache.remove(companyId);
+    }
+
+    /**
+     * Forgets the cached parties edited through the client pages; parties that were not provided are ignored.
+     */
+    public void invalidate(PartyCommand... parties) {
+        for (PartyCommand party : parties) {
+            if (!Objects.isNull(party) && !Objects.isNull(party.getCompanyId())) {
+                invalidate(party.getCompanyId());
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    private synchronized Party upsert(Party party, PartyContent content) {
+        // another request may have stored the same content while this one waited
+        CachedParty cached = cache.get(party.getCompanyId());
+        if (cached != null && cached.content().equals(content)) {
+            return cached.party();
+        }
+
+        Party managed = cached != null ? cached.party() : load(party.getCompanyId()).orElse(null);
+        if (managed != null && PartyContent.of(managed).equals(content)) {
+            return remember(managed);
+        }
+
+        try {
+            writes.increment();
+            if (managed == null) {
+                return remember(partyRepository.save(party));
+            }
+
+            LOG.debug("Party {} changed, updating stored party", party.getCompanyId());
+            party.setId(managed.getId());
+            return remember(partyRepository.update(party));
+        }
+        catch (RuntimeException e) {
+            invalidate(party.getCompanyId());
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the stored party with its contact and address lists, which are compared and cached with it.
+     */
+    @ReadOnly
+    protected Optional<Party> load(String companyId) {
+        Optional<Party> party = partyRepository.findByCompanyId(companyId);
+        party.ifPresent(PartyResolver::initialize);
+        return party;
+    }
+
+    /**
+     * Loads a party read with another entity, and its contact and address lists, while the session is open.  The
+     * lists are batch fetched and second level cached, so the parties of a page are read with a statement per list at
+     * most.
+     */
+    static void initialize(@Nullable Party party) {
+        if (Objects.isNull(party)) {
+            return;
+        }
+
+        Hibernate.initialize(party);
+        Hibernate.initialize(party.getFaxNumber());
+        Hibernate.initialize(party.getPhoneNumber());
+        Hibernate.initialize(party.getEmailAddress());
+        Hibernate.initialize(party.getStreetAddress());
+    }
+
+    private Party remember(Party party) {
+        cache.put(party.getCompanyId(), new CachedParty(party, PartyContent.of(party)));
+        return party;
+    }
+
+    private static List<String> elements(List<String> values) {
+        //hibernate bags compare by identity and load missing collections as empty, so compare plain copies
+        return values == null ? List.of() : new ArrayList<>(values);
+    }
+
+    private static BigDecimal stripped(BigDecimal value) {
+        //the database may hand back a different scale than the message provided
+        return value == null ? null : value.stripTrailingZeros();
+    }
+
+    private record CachedParty(Party party, PartyContent content) {
+    }
+
+    /**
+     * A copy of the party details taken when the party was stored, compared field by field with what a message
+     * provides.
+     */
+    record PartyContent(String companyId, String userCode, String userName, List<String> faxNumber, List<String> phoneNumber,
+                        List<String> emailAddress, String name, String code, List<String> streetAddress, String city,
+                        String country, String postalCode, String stateProvince, BigDecimal latitude, BigDecimal longitude) {
+        static PartyContent of(Party party) {
+            return new PartyContent(party.getCompanyId(), party.getUserCode(), party.getUserName(), elements(party.getFaxNumber()),
+                elements(party.getPhoneNumber()), elements(party.getEmailAddress()), party.getName(), party.getCode(),
+                elements(party.getStreetAddress()), party.getCity(), party.getCountry(), party.getPostalCode(), party.getStateProvince(),
+                stripped(party.getLatitude()), stripped(party.getLongitude()));
+        }
+    }
+}
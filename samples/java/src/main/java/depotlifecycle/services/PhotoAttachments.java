@@ -0,0 +1,83 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Estimate;
+import depotlifecycle.domain.EstimateLineItem;
+import depotlifecycle.domain.EstimateLineItemPhoto;
+import depotlifecycle.domain.EstimatePhoto;
+import depotlifecycle.domain.EstimatePhotoStatus;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GatePhoto;
+import depotlifecycle.repositories.EstimateRepository;
+import depotlifecycle.repositories.GateCreateRequestRepository;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Links stored photos to their gate or estimate records.  Runs after the upload has been stored so no connection is
+ * held while the photo streams in.  A photo already linked to the same record is not linked twice.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class PhotoAttachments {
+    private final GateCreateRequestRepository gateCreateRequestRepository;
+    private final EstimateRepository estimateRepository;
+
+    /**
+     * @return false if the gate record does not exist
+     */
+    @Transactional
+    public boolean attachToGate(Long relatedId, String url) {
+        Optional<GateCreateRequest> gate = gateCreateRequestRepository.findById(relatedId);
+        if (gate.isEmpty()) {
+            return false;
+        }
+
+        if (gate.get().getPhotos().stream().noneMatch(photo -> photo.getUrl().equals(url))) {
+            GatePhoto photo = new GatePhoto();
+            photo.setUrl(url);
+            gate.get().getPhotos().add(photo);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return false if the estimate, or the requested line of the estimate, does not exist
+     */
+    @Transactional
+    public boolean attachToEstimate(Long relatedId, @Nullable Integer line, EstimatePhotoStatus status, String url) {
+        Optional<Estimate> estimate = estimateRepository.findById(relatedId);
+        if (estimate.isEmpty()) {
+            return false;
+        }
+
+        if (Objects.isNull(line)) {
+            if (estimate.get().getPhotos().stream().noneMatch(photo -> photo.getUrl().equals(url) && photo.getStatus() == status)) {
+                EstimatePhoto photo = new EstimatePhoto();
+                photo.setUrl(url);
+                photo.setStatus(status);
+                estimate.get().getPhotos().add(photo);
+            }
+            return true;
+        }
+
+        Optional<EstimateLineItem> lineItem = estimate.get().getLineItems().stream().filter(estimateLineItem -> line.equals(estimateLineItem.getLine())).findFirst();
+        if (lineItem.isEmpty()) {
+            return false;
+        }
+
+        if (lineItem.get().getPhotos().stream().noneMatch(photo -> photo.getUrl().equals(url) && photo.getStatus() == status)) {
+            EstimateLineItemPhoto photo = new EstimateLineItemPhoto();
+            photo.setUrl(url);
+            photo.setStatus(status);
+            lineItem.get().getPhotos().add(photo);
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package depotlifecycle.services;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.multipart.StreamingFileUpload;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A local, content addressed photo store.  Uploads are streamed in fixed size chunks to a temporary file while their
+ * SHA-256 is computed, then moved to a path derived from that hash; identical photos are only stored once.  Heap use
+ * per upload is a single chunk buffer regardless of the photo size.
+ */
+@Singleton
+public class PhotoStore {
+    private static final Logger LOG = LoggerFactory.getLogger(PhotoStore.class);
+    private static final int CHUNK_SIZE = 64 * 1024;
+    public static final String URI_PREFIX = "urn:sha256:";
+
+    private final Path root;
+
+    public PhotoStore(@Value("${depotlifecycle.photos.directory:}") String directory) {
+        this.root = directory.isEmpty() ? Path.of(System.getProperty("java.io.tmpdir"), "depotlifecycle-photos") : Path.of(directory);
+    }
+
+    public record StoredPhoto(String sha256, long size, boolean duplicate) {
+        public String uri() {
+            return URI_PREFIX + sha256;
+        }
+    }
+
+    /**
+     * Streams the upload into the store; must be called from a thread that may block.
+     *
+     * @throws IllegalArgumentException if the upload contained no data
+     */
+    public StoredPhoto store(StreamingFileUpload upload) {
+        Path temp = null;
+        try {
+            Files.createDirectories(root.resolve("tmp"));
+            temp = Files.createTempFile(root.resolve("tmp"), "upload", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            byte[] chunk = new byte[CHUNK_SIZE];
+            try (InputStream in = upload.asInputStream();
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    digest.update(chunk, 0, read);
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    size += read;
+                }
+            }
+
+            if (size == 0) {
+                throw new IllegalArgumentException("Must provide a photo to upload.");
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(sha256);
+            if (Files.exists(target)) {
+                LOG.info("Photo {} already stored, discarding duplicate upload", sha256);
+                return new StoredPhoto(sha256, size, true);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (FileAlreadyExistsException e) {
+                //an identical photo was stored concurrently
+                return new StoredPhoto(sha256, size, true);
+            }
+
+            return new StoredPhoto(sha256, size, false);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to store photo.", e);
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                }
+                catch (IOException e) {
+                    LOG.warn("Unable to remove temporary upload {}", temp, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and drops an upload that is accepted without being stored.
+     *
+     * @throws IllegalArgumentException if the upload contained no data
+     */
+    public void skip(StreamingFileUpload upload) {
+        try (InputStream in = upload.asInputStream()) {
+            if (in.transferTo(OutputStream.nullOutputStream()) == 0) {
+                throw new IllegalArgumentException("Must provide a photo to upload.");
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Unable to read photo.", e);
+        }
+    }
+
+    /**
+     * Removes a photo that was stored by an upload that was then rejected; a photo that was already stored before the
+     * upload is kept for the records linked to it.
+     */
+    public void remove(StoredPhoto photo) {
+        if (photo.duplicate()) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(pathOf(photo.sha256()));
+        }
+        catch (IOException e) {
+            LOG.warn("Unable to remove rejected photo {}", photo.sha256(), e);
+        }
+    }
+
+    public Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+}
@@ -0,0 +1,143 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryStatus;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.domain.RedeliveryUnitStatus;
+import depotlifecycle.repositories.RedeliveryRepository;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Redelivery searches that first find the matching redelivery identifiers with a scalar query - joining through the
+ * indexed {@code RedeliveryUnit.unitNumber} column when searching by unit - and only then load the matching
+ * redeliveries.  The gate check is applied in that first query, so redeliveries that are not open for turn in never
+ * have their details, units or parties loaded.  The matches are then loaded together with one query, and the rest of
+ * each graph is batch fetched before it is returned, so it can be serialized after the session is closed.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class RedeliverySearch {
+    public static final int MAX_RESULTS = 100;
+
+    //the remaining collections are loaded in batches (see hibernate.default_batch_fetch_size)
+    private static final String REDELIVERIES = "select distinct r from Redelivery r" +
+        " join fetch r.depot join fetch r.owner join fetch r.recipient" +
+        " left join fetch r.details" +
+        " where r.id in :ids";
+
+    private final EntityManager entityManager;
+    private final RedeliveryRepository redeliveryRepository;
+
+    /**
+     * Reads every redelivery with the details, units and machinery the in memory unit indexes are built from.
+     */
+    @ReadOnly
+    public List<Redelivery> findAll() {
+        List<Redelivery> redeliveries = redeliveryRepository.findAll();
+        for (Redelivery redelivery : redeliveries) {
+            for (RedeliveryDetail detail : redelivery.getDetails()) {
+                for (RedeliveryUnit unit : detail.getUnits()) {
+                    Hibernate.initialize(unit.getMachineryInfo());
+                }
+            }
+        }
+        return redeliveries;
+    }
+
+    /**
+     * @param gateCheck when true, only approved, unexpired redeliveries are found, and when searching by unit number,
+     *                  only those the unit is still tied to
+     * @return up to {@value #MAX_RESULTS} matching redeliveries, most recently approved first
+     */
+    @ReadOnly
+    public List<Redelivery> search(@Nullable String redeliveryNumber, @Nullable String unitNumber, boolean gateCheck) {
+        if (Objects.isNull(redeliveryNumber) && Objects.isNull(unitNumber)) {
+            throw new IllegalArgumentException("Must provide a redelivery number or unit number to search.");
+        }
+
+        List<String> predicates = new ArrayList<>();
+        if (!Objects.isNull(unitNumber)) {
+            predicates.add("exists (select u.id from r.details d join d.units u where u.unitNumber = :unitNumber"
+                + (gateCheck ? " and u.status = :unitStatus)" : ")"));
+        }
+        if (!Objects.isNull(redeliveryNumber)) {
+            predicates.add("r.redeliveryNumber = :redeliveryNumber");
+        }
+        if (gateCheck) {
+            predicates.add("r.status = :status");
+            predicates.add("(r.expirationDate is null or r.expirationDate > :now)");
+        }
+        String jpql = "select r.id from Redelivery r where " + String.join(" and ", predicates) + " order by r.approvalDate desc, r.id desc";
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
+        if (!Objects.isNull(unitNumber)) {
+            query.setParameter("unitNumber", unitNumber);
+            if (gateCheck) {
+                query.setParameter("unitStatus", RedeliveryUnitStatus.TIED);
+            }
+        }
+        if (!Objects.isNull(redeliveryNumber)) {
+            query.setParameter("redeliveryNumber", redeliveryNumber);
+        }
+        if (gateCheck) {
+            query.setParameter("status", RedeliveryStatus.APPROVED);
+            query.setParameter("now", ZonedDateTime.now());
+        }
+
+        List<Long> ids = query.setMaxResults(MAX_RESULTS).getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Redelivery> found = new HashMap<>();
+        entityManager.createQuery(REDELIVERIES, Redelivery.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .forEach(redelivery -> found.put(redelivery.getId(), redelivery));
+        found.values().forEach(RedeliverySearch::initialize);
+
+        List<Redelivery> redeliveries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            redeliveries.add(found.get(id));
+        }
+        return redeliveries;
+    }
+
+    private static void initialize(Redelivery redelivery) {
+        Hibernate.initialize(redelivery.getEstimateEmailRecipients());
+        Hibernate.initialize(redelivery.getComments());
+        PartyResolver.initialize(redelivery.getDepot());
+        PartyResolver.initialize(redelivery.getOwner());
+        PartyResolver.initialize(redelivery.getRecipient());
+        for (RedeliveryDetail detail : redelivery.getDetails()) {
+            PartyResolver.initialize(detail.getCustomer());
+            Hibernate.initialize(detail.getComments());
+            if (!Objects.isNull(detail.getInsuranceCoverage())) {
+                Hibernate.initialize(detail.getInsuranceCoverage().getExceptions());
+                Hibernate.initialize(detail.getInsuranceCoverage().getExclusions());
+                Hibernate.initialize(detail.getInsuranceCoverage().getInclusions());
+            }
+            for (RedeliveryUnit unit : detail.getUnits()) {
+                PartyResolver.initialize(unit.getLastOnHireLocation());
+                PartyResolver.initialize(unit.getBillingParty());
+                Hibernate.initialize(unit.getComments());
+                Hibernate.initialize(unit.getTechnicalBulletins());
+                Hibernate.initialize(unit.getMachineryInfo());
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.GateRequestStatus;
+import depotlifecycle.domain.MachineryInfo;
+import depotlifecycle.domain.Redelivery;
+import depotlifecycle.domain.RedeliveryDetail;
+import depotlifecycle.domain.RedeliveryUnit;
+import depotlifecycle.domain.Release;
+import depotlifecycle.domain.ReleaseDetail;
+import depotlifecycle.domain.ReleaseDetailCriteria;
+import depotlifecycle.domain.ReleaseUnit;
+import depotlifecycle.domain.ReleaseUnitStatus;
+import depotlifecycle.domain.UpgradeType;
+import depotlifecycle.services.UnitStateIndex.OnHandUnit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Finds the on hand units at a release depot that could fill a release detail.  Gate records do not describe the
+ * shipping container, so a unit's equipment type, grade, upgrade and machinery are taken from the latest redelivery it
+ * was listed on.  Units are indexed by equipment and grade; a match intersects the matching group with the depot's on
+ * hand units from the {@link UnitStateIndex}, walking whichever of the two is smaller, so neither gate records nor
+ * redeliveries are read while matching.
+ * <p>
+ * Only undamaged units that are not already on the release are candidates.  Candidates are ranked by how long they have
+ * been on hand, oldest first, and limited to the quantity of the detail that is not yet tied.
+ */
+@Singleton
+public class ReleaseCandidates {
+    private static final Logger LOG = LoggerFactory.getLogger(ReleaseCandidates.class);
+    private static final String NO_GRADE = "";
+    private static final Comparator<Candidate> RANKING = Comparator.comparing((Candidate candidate) -> candidate.onHand().activityTime(), Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(candidate -> candidate.onHand().unitNumber());
+
+    private final RedeliverySearch redeliverySearch;
+    private final UnitStateIndex unitStateIndex;
+    private final Map<String, UnitProfile> profiles = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Set<String>>> unitsByEquipmentAndGrade = new ConcurrentHashMap<>();
+    private final Timer matchTimer;
+
+    public ReleaseCandidates(RedeliverySearch redeliverySearch, UnitStateIndex unitStateIndex, MeterRegistry meterRegistry) {
+        this.redeliverySearch = redeliverySearch;
+        this.unitStateIndex = unitStateIndex;
+        this.matchTimer = meterRegistry.timer("depotlifecycle.release.candidates.match");
+    }
+
+    private record UnitProfile(String unitNumber, String equipment, String grade, @Nullable UpgradeType upgradeType,
+                               @Nullable LocalDate manufactureDate, @Nullable String tankGrade, @Nullable MachineryInfo machinery,
+                               @Nullable ZonedDateTime approvalDate) {
+        static UnitProfile of(Redelivery redelivery, RedeliveryDetail detail, RedeliveryUnit unit) {
+            return new UnitProfile(unit.getUnitNumber(), detail.getEquipment(), Objects.isNull(detail.getGrade()) ? NO_GRADE : detail.getGrade(),
+                detail.getUpgradeType(), unit.getManufactureDate(), unit.getTankGrade(), unit.getMachineryInfo(), redelivery.getApprovalDate());
+        }
+
+        boolean isNewerThan(UnitProfile other) {
+            return Objects.isNull(other.approvalDate()) || (!Objects.isNull(approvalDate) && !approvalDate.isBefore(other.approvalDate()));
+        }
+    }
+
+    private record Candidate(OnHandUnit onHand, UnitProfile profile) {
+    }
+
+    @EventListener
+    void onStartup(ServerStartupEvent event) {
+        int units = 0;
+        for (Redelivery redelivery : redeliverySearch.findAll()) {
+            units += redelivered(redelivery);
+        }
+        LOG.info("Indexed {} redelivered units for release candidate matching", units);
+    }
+
+    /**
+     * Records the units of a created or updated redelivery.
+     *
+     * @return the number of units on the redelivery
+     */
+    public synchronized int redelivered(Redelivery redelivery) {
+        int units = 0;
+        for (RedeliveryDetail detail : redelivery.getDetails()) {
+            if (Objects.isNull(detail.getEquipment())) {
+                continue;
+            }
+
+            for (RedeliveryUnit unit : detail.getUnits()) {
+                if (Objects.isNull(unit.getUnitNumber())) {
+                    continue;
+                }
+
+                units++;
+                UnitProfile profile = UnitProfile.of(redelivery, detail, unit);
+                UnitProfile current = profiles.get(profile.unitNumber());
+                if (!Objects.isNull(current)) {
+                    if (!profile.isNewerThan(current)) {
+                        continue;
+                    }
+                    group(current).remove(current.unitNumber());
+                }
+
+                profiles.put(profile.unitNumber(), profile);
+                group(profile).add(profile.unitNumber());
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Adds the candidate units for every detail of the release to that detail's units, with the status
+     * {@link ReleaseUnitStatus#CANDIDATE}.  The release must not be attached to a session.
+     */
+    public void include(Release release) {
+        if (Objects.isNull(release.getDepot()) || Objects.isNull(release.getDepot().getCompanyId())) {
+            return;
+        }
+
+        Set<String> onRelease = new HashSet<>();
+        for (ReleaseDetail detail : release.getDetails()) {
+            for (ReleaseUnit unit : detail.getUnits()) {
+                onRelease.add(unit.getUnitNumber());
+            }
+        }
+
+        for (ReleaseDetail detail : release.getDetails()) {
+            List<ReleaseUnit> candidates = match(release.getDepot().getCompanyId(), detail, onRelease);
+            for (ReleaseUnit candidate : candidates) {
+                onRelease.add(candidate.getUnitNumber());
+            }
+            detail.getUnits().addAll(candidates);
+        }
+    }
+
+    /**
+     * @param depot     the company id of the release depot
+     * @param onRelease unit numbers that are already on the release and may not be candidates
+     * @return the ranked candidates for the detail
+     */
+    public List<ReleaseUnit> match(String depot, ReleaseDetail detail, Set<String> onRelease) {
+        return matchTimer.record(() -> {
+            int wanted = remaining(detail);
+            Map<String, Set<String>> grades = Objects.isNull(detail.getEquipment()) ? null : unitsByEquipmentAndGrade.get(detail.getEquipment());
+            if (wanted <= 0 || Objects.isNull(grades)) {
+                return List.of();
+            }
+
+            Collection<Set<String>> groups = Objects.isNull(detail.getGrade()) ? grades.values() : List.of(grades.getOrDefault(detail.getGrade(), Set.of()));
+            Map<String, OnHandUnit> onHand = unitStateIndex.onHand(depot);
+            Predicate<UnitProfile> criteria = criteria(detail);
+
+            List<Candidate> candidates = new ArrayList<>();
+            for (Set<String> group : groups) {
+                if (group.size() <= onHand.size()) {
+                    for (String unitNumber : group) {
+                        consider(onHand.get(unitNumber), onRelease, criteria, candidates);
+                    }
+                }
+                else {
+                    for (OnHandUnit unit : onHand.values()) {
+                        if (group.contains(unit.unitNumber())) {
+                            consider(unit, onRelease, criteria, candidates);
+                        }
+                    }
+                }
+            }
+
+            candidates.sort(RANKING);
+            List<ReleaseUnit> units = new ArrayList<>(Math.min(wanted, candidates.size()));
+            for (Candidate candidate : candidates.subList(0, Math.min(wanted, candidates.size()))) {
+                ReleaseUnit unit = new ReleaseUnit();
+                unit.setUnitNumber(candidate.onHand().unitNumber());
+                unit.setStatus(ReleaseUnitStatus.CANDIDATE);
+                unit.setManufactureDate(candidate.profile().manufactureDate());
+                units.add(unit);
+            }
+            return units;
+        });
+    }
+
+    private void consider(@Nullable OnHandUnit unit, Set<String> onRelease, Predicate<UnitProfile> criteria, List<Candidate> candidates) {
+        if (Objects.isNull(unit) || unit.status() != GateRequestStatus.A || onRelease.contains(unit.unitNumber())) {
+            return;
+        }
+
+        UnitProfile profile = profiles.get(unit.unitNumber());
+        if (!Objects.isNull(profile) && criteria.test(profile)) {
+            candidates.add(new Candidate(unit, profile));
+        }
+    }
+
+    private Set<String> group(UnitProfile profile) {
+        return unitsByEquipmentAndGrade.computeIfAbsent(profile.equipment(), equipment -> new ConcurrentHashMap<>())
+            .computeIfAbsent(profile.grade(), grade -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static int remaining(ReleaseDetail detail) {
+        if (Objects.isNull(detail.getQuantity())) {
+            return Integer.MAX_VALUE;
+        }
+
+        int tied = 0;
+        for (ReleaseUnit unit : detail.getUnits()) {
+            if (unit.getStatus() == ReleaseUnitStatus.TIED || unit.getStatus() == ReleaseUnitStatus.LOT) {
+                tied++;
+            }
+        }
+        return detail.getQuantity() - tied;
+    }
+
+    /**
+     * Combines the upgrade, setpoint and field criteria of the detail.  A desired temperature requires a unit with
+     * known machinery.  Field criteria that are not recognized do not restrict the candidates.
+     */
+    private static Predicate<UnitProfile> criteria(ReleaseDetail detail) {
+        Predicate<UnitProfile> criteria = profile -> true;
+        if (!Objects.isNull(detail.getUpgradeType())) {
+            criteria = criteria.and(profile -> profile.upgradeType() == detail.getUpgradeType());
+        }
+        if (!Objects.isNull(detail.getDesiredTemperature())) {
+            criteria = criteria.and(profile -> !Objects.isNull(profile.machinery()));
+        }
+
+        for (ReleaseDetailCriteria field : detail.getCriteria()) {
+            String value = field.getFieldValue();
+            if (Objects.isNull(field.getFieldId()) || Objects.isNull(value)) {
+                continue;
+            }
+
+            try {
+                criteria = criteria.and(switch (field.getFieldId()) {
+                    case "manufactureYearMin" -> {
+                        int year = Integer.parseInt(value.trim());
+                        yield profile -> !Objects.isNull(profile.manufactureDate()) && profile.manufactureDate().getYear() >= year;
+                    }
+                    case "manufactureYearMax" -> {
+                        int year = Integer.parseInt(value.trim());
+                        yield profile -> !Objects.isNull(profile.manufactureDate()) && profile.manufactureDate().getYear() <= year;
+                    }
+                    case "tankGrade" -> profile -> value.equalsIgnoreCase(profile.tankGrade());
+                    case "machineryManufacturer" -> profile -> !Objects.isNull(profile.machinery()) && value.equalsIgnoreCase(profile.machinery().getManufacturer());
+                    case "machineryModel" -> profile -> !Objects.isNull(profile.machinery()) && value.equalsIgnoreCase(profile.machinery().getModelName());
+                    default -> profile -> true;
+                });
+            }
+            catch (NumberFormatException e) {
+                LOG.warn("Release detail criteria {} has an invalid value {}; no candidates will match", field.getFieldId(), value);
+                return profile -> false;
+            }
+        }
+
+        return criteria;
+    }
+}
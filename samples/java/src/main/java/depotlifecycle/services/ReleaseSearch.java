@@ -0,0 +1,130 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.Party;
+import depotlifecycle.domain.Release;
+import depotlifecycle.domain.ReleaseDetail;
+import depotlifecycle.domain.ReleaseUnit;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Release searches that are read a page at a time, seeking past the last returned identifier, so a search matching
+ * every release only ever holds a page or two of release graphs in memory.  Each page is read in its own read only
+ * transaction and is fully initialized before it is returned, so it can be serialized after the session is closed.  The
+ * parties of each release are read with the release (see the {@value #FULL_VIEW} entity graph); the details, their
+ * units and the remaining parties are batch fetched for the whole page.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class ReleaseSearch {
+    public static final int PAGE_SIZE = 100;
+    static final String FULL_VIEW = "Release.full";
+
+    private final EntityManager entityManager;
+
+    /**
+     * @return up to {@value #PAGE_SIZE} matching releases with an identifier greater than the given one, in order
+     */
+    @ReadOnly
+    public List<Release> page(ReleaseSearchCriteria criteria, @Nullable Long after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Release> query = cb.createQuery(Release.class);
+        Root<Release> root = query.from(Release.class);
+        query.select(root)
+            .where(predicates(cb, root, criteria, after))
+            .orderBy(cb.asc(root.get("id")));
+
+        List<Release> releases = entityManager.createQuery(query)
+            .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(FULL_VIEW))
+            .setMaxResults(PAGE_SIZE)
+            .getResultList();
+        releases.forEach(ReleaseSearch::initialize);
+        return releases;
+    }
+
+    @ReadOnly
+    public Optional<Release> find(String releaseNumber) {
+        Optional<Release> release = entityManager.createQuery("select r from Release r where r.releaseNumber = :releaseNumber", Release.class)
+            .setParameter("releaseNumber", releaseNumber)
+            .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(FULL_VIEW))
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+        release.ifPresent(ReleaseSearch::initialize);
+        return release;
+    }
+
+    /**
+     * Streams every release matching the criteria, starting with the first page that was already read.  Pages are only
+     * read as the subscriber requests them, so no more than two are held at a time.
+     */
+    public Flux<Release> stream(ReleaseSearchCriteria criteria, List<Release> firstPage) {
+        return Flux.<List<Release>, List<Release>>generate(() -> firstPage, (page, sink) -> {
+                if (page.isEmpty()) {
+                    sink.complete();
+                    return page;
+                }
+
+                sink.next(page);
+                return page.size() < PAGE_SIZE ? List.of() : page(criteria, page.get(page.size() - 1).getId());
+            })
+            .concatMapIterable(Function.identity(), 1)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void initialize(Release release) {
+        Hibernate.initialize(release.getComments());
+        PartyResolver.initialize(release.getDepot());
+        PartyResolver.initialize(release.getOwner());
+        PartyResolver.initialize(release.getRecipient());
+        for (ReleaseDetail detail : release.getDetails()) {
+            PartyResolver.initialize(detail.getCustomer());
+            Hibernate.initialize(detail.getCriteria());
+            Hibernate.initialize(detail.getComments());
+            for (ReleaseUnit unit : detail.getUnits()) {
+                Hibernate.initialize(unit.getComments());
+            }
+        }
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Release> root, ReleaseSearchCriteria criteria, @Nullable Long after) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (!Objects.isNull(criteria.status())) {
+            predicates.add(cb.equal(root.get("status"), criteria.status()));
+        }
+        if (!Objects.isNull(criteria.depot())) {
+            Join<Release, Party> depot = root.join("depot");
+            predicates.add(cb.equal(depot.get("companyId"), criteria.depot()));
+        }
+        if (!Objects.isNull(criteria.expiresAfter())) {
+            predicates.add(cb.or(cb.isNull(root.get("expirationDate")), cb.greaterThan(root.<ZonedDateTime>get("expirationDate"), criteria.expiresAfter())));
+        }
+        if (!Objects.isNull(criteria.expiresBefore())) {
+            predicates.add(cb.lessThan(root.<ZonedDateTime>get("expirationDate"), criteria.expiresBefore()));
+        }
+        if (!Objects.isNull(after)) {
+            predicates.add(cb.greaterThan(root.<Long>get("id"), after));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+}
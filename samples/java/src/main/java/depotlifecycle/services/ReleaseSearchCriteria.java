@@ -0,0 +1,19 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.ReleaseStatus;
+import io.micronaut.core.annotation.Nullable;
+
+import java.time.ZonedDateTime;
+
+/**
+ * The optional filters of a release search; only the filters that are set become predicates.
+ *
+ * @param depot         the company id of the release depot
+ * @param expiresAfter  only releases without an expiration or that expire after this time
+ * @param expiresBefore only releases that expire before this time
+ */
+public record ReleaseSearchCriteria(@Nullable ReleaseStatus status,
+                                    @Nullable String depot,
+                                    @Nullable ZonedDateTime expiresAfter,
+                                    @Nullable ZonedDateTime expiresBefore) {
+}
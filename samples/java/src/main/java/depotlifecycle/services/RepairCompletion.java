@@ -0,0 +1,162 @@
+package depotlifecycle.services;
+
+import depotlifecycle.domain.RepairComplete;
+import depotlifecycle.domain.WorkOrderUnit;
+import depotlifecycle.domain.WorkOrderUnitStatus;
+import depotlifecycle.system.ApiErrorHandling;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.transaction.annotation.Transactional;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Marks many work order units repaired at once.  The current state of every unit in the batch is read with one query,
+ * and each repair completion is checked against it.  The units that passed are then locked and re-read with one query
+ * per work order; those still tied are marked repaired with batched updates, and any that changed in between are
+ * reported as not repaired.  Everything runs in a single transaction.
+ */
+@Singleton
+@RequiredArgsConstructor
+public class RepairCompletion {
+    private static final Logger LOG = LoggerFactory.getLogger(RepairCompletion.class);
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    /**
+     * The result of a single repair completion; the reason is defined when the unit was not marked repaired.
+     */
+    public record Outcome(boolean repaired, @Nullable String reason) {
+    }
+
+    record UnitKey(String workOrderNumber, String unitNumber) {
+    }
+
+    /**
+     * @return an outcome for every repair completion, in order
+     */
+    @Transactional
+    public List<Outcome> complete(List<RepairComplete> repairs) {
+        Map<UnitKey, WorkOrderUnitStatus> statuses = new HashMap<>();
+        Set<String> workOrders = new HashSet<>();
+        load(repairs, statuses, workOrders);
+
+        List<Outcome> outcomes = new ArrayList<>(repairs.size());
+        Map<String, Map<String, Integer>> toRepair = new LinkedHashMap<>();
+        for (RepairComplete repair : repairs) {
+            String reason = validate(repair);
+            if (Objects.isNull(reason)) {
+                UnitKey key = new UnitKey(repair.getWorkOrderNumber(), repair.getUnitNumber());
+                WorkOrderUnitStatus status = statuses.get(key);
+                if (!workOrders.contains(key.workOrderNumber())) {
+                    reason = "Work Order " + key.workOrderNumber() + " was not found.";
+                }
+                else if (Objects.isNull(status)) {
+                    reason = "Work Order " + key.workOrderNumber() + " does not contain unit " + key.unitNumber();
+                }
+                else {
+                    reason = reason(status);
+                    if (Objects.isNull(reason)) {
+                        //a unit repeated in the batch is repaired by its first occurrence
+                        statuses.put(key, WorkOrderUnitStatus.REPAIRED);
+                        toRepair.computeIfAbsent(key.workOrderNumber(), workOrderNumber -> new HashMap<>()).put(key.unitNumber(), outcomes.size());
+                    }
+                }
+            }
+
+            outcomes.add(new Outcome(Objects.isNull(reason), reason));
+        }
+
+        toRepair.forEach((workOrderNumber, indexes) -> {
+            //the units are re-read under a lock, so one changed since they were checked is reported instead of skipped
+            List<WorkOrderUnit> units = entityManager.createQuery("select u from WorkOrder w join w.lineItems u where w.workOrderNumber = :workOrderNumber and u.unitNumber in :unitNumbers", WorkOrderUnit.class)
+                .setParameter("workOrderNumber", workOrderNumber)
+                .setParameter("unitNumbers", indexes.keySet())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+
+            Map<String, Integer> unrepaired = new HashMap<>(indexes);
+            for (WorkOrderUnit unit : units) {
+                if (unit.getStatus() == WorkOrderUnitStatus.TIED) {
+                    unit.setStatus(WorkOrderUnitStatus.REPAIRED);
+                    unrepaired.remove(unit.getUnitNumber());
+                }
+            }
+
+            if (!unrepaired.isEmpty()) {
+                LOG.warn("Work Order {} had {} of {} units changed concurrently", workOrderNumber, unrepaired.size(), indexes.size());
+                Map<String, WorkOrderUnitStatus> current = new HashMap<>();
+                units.forEach(unit -> current.put(unit.getUnitNumber(), unit.getStatus()));
+                unrepaired.forEach((unitNumber, index) -> {
+                    WorkOrderUnitStatus status = current.get(unitNumber);
+                    String reason = Objects.isNull(status) ? "Work Order " + workOrderNumber + " does not contain unit " + unitNumber : reason(status);
+                    outcomes.set(index, new Outcome(false, reason));
+                });
+            }
+        });
+
+        return outcomes;
+    }
+
+    @Nullable
+    private static String reason(WorkOrderUnitStatus status) {
+        return switch (status) {
+            case REMOVED -> "Unit was removed from work order.";
+            case REPAIRED -> "Unit already repaired.";
+            case TIED -> null;
+        };
+    }
+
+    private void load(List<RepairComplete> repairs, Map<UnitKey, WorkOrderUnitStatus> statuses, Set<String> workOrders) {
+        Set<String> workOrderNumbers = new HashSet<>();
+        Set<String> unitNumbers = new HashSet<>();
+        for (RepairComplete repair : repairs) {
+            if (Objects.isNull(validate(repair))) {
+                workOrderNumbers.add(repair.getWorkOrderNumber());
+                unitNumbers.add(repair.getUnitNumber());
+            }
+        }
+        if (workOrderNumbers.isEmpty()) {
+            return;
+        }
+
+        //work orders without any of the units still return a row, so a missing work order can be told apart
+        entityManager.createQuery("select w.workOrderNumber, u.unitNumber, u.status from WorkOrder w left join w.lineItems u on u.unitNumber in :unitNumbers where w.workOrderNumber in :workOrderNumbers", Object[].class)
+            .setParameter("unitNumbers", unitNumbers)
+            .setParameter("workOrderNumbers", workOrderNumbers)
+            .getResultStream()
+            .forEach(row -> {
+                workOrders.add((String) row[0]);
+                if (!Objects.isNull(row[1])) {
+                    statuses.put(new UnitKey((String) row[0], (String) row[1]), (WorkOrderUnitStatus) row[2]);
+                }
+            });
+    }
+
+    @Nullable
+    private String validate(@Nullable RepairComplete repair) {
+        if (Objects.isNull(repair)) {
+            return "Repair complete must be defined.";
+        }
+
+        Set<ConstraintViolation<RepairComplete>> violations = validator.validate(repair);
+        return violations.isEmpty() ? null : ApiErrorHandling.errorResponse(violations).getMessage();
+    }
+}
@@ -0,0 +1,40 @@
+package depotlifecycle.services;
+
+import io.micronaut.core.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset paginated search.  The cursor is an opaque token for the last identifier returned, so the
+ * next page can seek directly to it instead of counting past an offset.
+ */
+public record SearchPage<T>(List<T> items, @Nullable String nextCursor) {
+    public static <T> SearchPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return new SearchPage<>(fetched, null);
+        }
+
+        List<T> items = fetched.subList(0, limit);
+        return new SearchPage<>(items, encodeCursor(idOf.apply(items.get(limit - 1))));
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Long decodeCursor(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        }
+        catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor.");
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package depotlifecycle.services;
+
+import depotlifecycle.GateStatus;
+import depotlifecycle.domain.GateCreateRequest;
+import depotlifecycle.domain.GateDeleteRequest;
+import depotlifecycle.domain.GateRequestStatus;
+import depotlifecycle.domain.GateRequestType;
+import depotlifecycle.domain.GateUpdateRequest;
+import depotlifecycle.domain.Party;
+import depotlifecycle.repositories.GateCreateRequestRepository;
+import depotlifecycle.repositories.GateDeleteRequestRepository;
+import depotlifecycle.repositories.GateUpdateRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The latest gate state of every shipping container, keyed by unit number, so gate status lookups never touch the
+ * database.  The index is rebuilt from the gate repositories at startup and kept current as gate records are written:
+ * creates are merged in memory, while updates and deletes, which may change which gate record is the latest, reload
+ * only the affected unit.  Lookups are lock free; writes to the index are serialized.
+ * <p>
+ * A second index holds the units whose latest gate record is a gate in, grouped by depot, so the on hand inventory of
+ * a depot can be read without scanning every unit.
+ */
+@Singleton
+public class UnitStateIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(UnitStateIndex.class);
+    private static final Comparator<UnitState> LATEST = Comparator.comparing(UnitState::activityTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(UnitState::relatedId);
+
+    private final GateCreateRequestRepository gateCreateRequestRepository;
+    private final GateUpdateRequestRepository gateUpdateRequestRepository;
+    private final GateDeleteRequestRepository gateDeleteRequestRepository;
+    private final PartyResolver partyResolver;
+    private final Map<String, UnitState> index = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, OnHandUnit>> onHand = new ConcurrentHashMap<>();
+    private final Timer rebuildTimer;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UnitStateIndex(GateCreateRequestRepository gateCreateRequestRepository,
+                          GateUpdateRequestRepository gateUpdateRequestRepository,
+                          GateDeleteRequestRepository gateDeleteRequestRepository,
+                          PartyResolver partyResolver,
+                          MeterRegistry meterRegistry) {
+        this.gateCreateRequestRepository = gateCreateRequestRepository;
+        this.gateUpdateRequestRepository = gateUpdateRequestRepository;
+        this.gateDeleteRequestRepository = gateDeleteRequestRepository;
+        this.partyResolver = partyResolver;
+        this.rebuildTimer = meterRegistry.timer("depotlifecycle.gate.index.rebuild");
+        this.hits = meterRegistry.counter("depotlifecycle.gate.index.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("depotlifecycle.gate.index.lookups", "result", "miss");
+        meterRegistry.gaugeMapSize("depotlifecycle.gate.index.size", Collections.emptyList(), index);
+    }
+
+    /**
+     * A shipping container that is currently gated in at a depot.
+     */
+    public record OnHandUnit(String unitNumber, @Nullable GateRequestStatus status, @Nullable ZonedDateTime activityTime) {
+    }
+
+    private record UnitState(Long relatedId, String adviceNumber, Party depot, GateRequestStatus status, ZonedDateTime activityTime, GateRequestType type) {
+        static UnitState of(GateCreateRequest request) {
+            return new UnitState(request.getId(), request.getAdviceNumber(), request.getDepot(), request.getStatus(), request.getActivityTime(), request.getType());
+        }
+
+        boolean isUpdatedBy(GateUpdateRequest update) {
+            return adviceNumber.equals(update.getAdviceNumber()) && (Objects.isNull(update.getType()) || update.getType() == type);
+        }
+
+        UnitState withDepot(Party depot) {
+            return new UnitState(relatedId, adviceNumber, depot, status, activityTime, type);
+        }
+
+        UnitState apply(GateUpdateRequest update) {
+            return new UnitState(relatedId, adviceNumber, depot,
+                Objects.isNull(update.getStatus()) ? status : update.getStatus(),
+                Objects.isNull(update.getActivityTime()) ? activityTime : update.getActivityTime(),
+                type);
+        }
+
+        boolean isOnHand() {
+            return type == GateRequestType.IN && !Objects.isNull(depot) && !Objects.isNull(depot.getCompanyId());
+        }
+
+        boolean isDeletedBy(GateDeleteRequest delete) {
+            return adviceNumber.equals(delete.getAdviceNumber()) && depot.getCompanyId().equals(delete.getDepot().getCompanyId());
+        }
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+
+        Map<String, List<GateCreateRequest>> creates = group(gateCreateRequestRepository.findAll(), GateCreateRequest::getUnitNumber);
+        Map<String, List<GateUpdateRequest>> updates = group(gateUpdateRequestRepository.findAll(), GateUpdateRequest::getUnitNumber);
+        Map<String, List<GateDeleteRequest>> deletes = group(gateDeleteRequestRepository.findAll(), GateDeleteRequest::getUnitNumber);
+
+        Map<String, UnitState> rebuilt = new HashMap<>();
+        creates.forEach((unitNumber, unitCreates) -> latest(unitCreates, updates.getOrDefault(unitNumber, List.of()), deletes.getOrDefault(unitNumber, List.of()))
+            .map(this::resolved)
+            .ifPresent(state -> rebuilt.put(unitNumber, state)));
+
+        for (String unitNumber : List.copyOf(index.keySet())) {
+            if (!rebuilt.containsKey(unitNumber)) {
+                remove(unitNumber);
+            }
+        }
+        rebuilt.forEach(this::put);
+
+        long elapsed = System.nanoTime() - start;
+        rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        LOG.info("Rebuilt gate unit state index with {} units in {} ms", rebuilt.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    public Optional<GateStatus> find(String unitNumber) {
+        UnitState state = index.get(unitNumber);
+        if (Objects.isNull(state)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        GateStatus status = new GateStatus();
+        status.setRelatedId(state.relatedId());
+        status.setAdviceNumber(state.adviceNumber());
+        status.setDepot(state.depot());
+        status.setStatus(Objects.isNull(state.status()) ? null : state.status().name());
+        status.setActivityTime(state.activityTime());
+        status.setType(Objects.isNull(state.type()) ? null : state.type().name());
+        return Optional.of(status);
+    }
+
+    /**
+     * @param depot the company id of the depot
+     * @return the units currently gated in at the depot, keyed by unit number
+     */
+    public Map<String, OnHandUnit> onHand(String depot) {
+        Map<String, OnHandUnit> units = onHand.get(depot);
+        return Objects.isNull(units) ? Map.of() : Collections.unmodifiableMap(units);
+    }
+
+    public synchronized void created(GateCreateRequest request) {
+        UnitState created = UnitState.of(request);
+        UnitState current = index.get(request.getUnitNumber());
+        if (Objects.isNull(current) || LATEST.compare(created, current) >= 0) {
+            put(request.getUnitNumber(), created);
+        }
+    }
+
+    public void updated(GateUpdateRequest request) {
+        reload(request.getUnitNumber());
+    }
+
+    public void deleted(GateDeleteRequest request) {
+        reload(request.getUnitNumber());
+    }
+
+    private synchronized void reload(String unitNumber) {
+        Optional<UnitState> state = latest(gateCreateRequestRepository.findByUnitNumber(unitNumber),
+            gateUpdateRequestRepository.findByUnitNumber(unitNumber),
+            gateDeleteRequestRepository.findByUnitNumber(unitNumber))
+            .map(this::resolved);
+
+        if (state.isPresent()) {
+            put(unitNumber, state.get());
+        }
+        else {
+            remove(unitNumber);
+        }
+    }
+
+    /**
+     * Swaps the depot read with the gate record for the one the party resolver keeps loaded, as gate status lookups
+     * return the depot long after the session that read the gate record is closed.
+     */
+    private UnitState resolved(UnitState state) {
+        return state.withDepot(partyResolver.find(state.depot().getCompanyId()).orElse(state.depot()));
+    }
+
+    private void put(String unitNumber, UnitState state) {
+        removeOnHand(unitNumber, index.put(unitNumber, state));
+        if (state.isOnHand()) {
+            onHand.computeIfAbsent(state.depot().getCompanyId(), depot -> new ConcurrentHashMap<>())
+                .put(unitNumber, new OnHandUnit(unitNumber, state.status(), state.activityTime()));
+        }
+    }
+
+    private void remove(String unitNumber) {
+        removeOnHand(unitNumber, index.remove(unitNumber));
+    }
+
+    private void removeOnHand(String unitNumber, @Nullable UnitState previous) {
+        if (!Objects.isNull(previous) && previous.isOnHand()) {
+            Map<String, OnHandUnit> units = onHand.get(previous.depot().getCompanyId());
+            if (!Objects.isNull(units)) {
+                units.remove(unitNumber);
+            }
+        }
+    }
+
+    private static Optional<UnitState> latest(Collection<GateCreateRequest> creates, Collection<GateUpdateRequest> updates, Collection<GateDeleteRequest> deletes) {
+        List<GateUpdateRequest> orderedUpdates = updates.stream().sorted(Comparator.comparing(GateUpdateRequest::getId)).toList();
+
+        return creates.stream()
+            .map(UnitState::of)
+            .filter(state -> deletes.stream().noneMatch(state::isDeletedBy))
+            .map(state -> {
+                UnitState current = state;
+                for (GateUpdateRequest update : orderedUpdates) {
+                    if (current.isUpdatedBy(update)) {
+                        current = current.apply(update);
+                    }
+                }
+                return current;
+            })
+            .max(LATEST);
+    }
+
+    private static <T> Map<String, List<T>> group(Iterable<T> rows, Function<T, String> unitNumber) {
+        Map<String, List<T>> grouped = new HashMap<>();
+        for (T row : rows) {
+            grouped.computeIfAbsent(unitNumber.apply(row), key -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+}
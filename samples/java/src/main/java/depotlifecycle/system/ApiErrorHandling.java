@@ -7,6 +7,10 @@ import io.micronaut.http.HttpResponseFactory;
 import io.micronaut.http.exceptions.HttpStatusException;
 import io.micronaut.http.hateoas.JsonError;
 import io.micronaut.security.authentication.AuthorizationException;
+import jakarta.validation.ConstraintViolation;
+
+import java.util.Comparator;
+import java.util.Set;
 
 /**
  * Since this application is both a client & server, a global error handler cannot be defined.  Instead, define the error
@@ -35,4 +39,33 @@ public class ApiErrorHandling {
 
         return HttpResponse.<ErrorResponse>badRequest().body(error);
     }
+
+    /**
+     * Describes why one record of a batch was not saved.  Only messages written for clients are passed on; database and
+     * driver messages are replaced by the given message.
+     */
+    public static ErrorResponse errorResponse(Throwable ex, String unexpectedMessage) {
+        if (ex instanceof HttpStatusException statusException && statusException.getBody().orElse(null) instanceof ErrorResponse error) {
+            return error;
+        }
+
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(ex instanceof IllegalArgumentException ? ex.getMessage() : unexpectedMessage);
+        return error;
+    }
+
+    /**
+     * Describes the first constraint violation of a record, i.e. `adviceNumber size must be between 1 and 16`.
+     */
+    public static <T> ErrorResponse errorResponse(Set<ConstraintViolation<T>> violations) {
+        ConstraintViolation<T> violation = violations.stream()
+            .min(Comparator.comparing(candidate -> candidate.getPropertyPath().toString()))
+            .orElseThrow();
+
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(String.join(" ", violation.getPropertyPath().toString(), violation.getMessage()));
+        return error;
+    }
 }
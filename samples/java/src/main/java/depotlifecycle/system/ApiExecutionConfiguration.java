@@ -0,0 +1,39 @@
+package depotlifecycle.system;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(ApiExecutionConfiguration.PREFIX)
+@Getter
+@Setter
+public class ApiExecutionConfiguration {
+    public static final String PREFIX = "depotlifecycle.api.execution";
+
+    public enum Mode {
+        /**
+         * run api requests directly on the netty event loop
+         */
+        EVENT_LOOP,
+        /**
+         * run api requests on a bounded pool of platform threads
+         */
+        IO,
+        /**
+         * run each api request on its own virtual thread (Java 21+, otherwise falls back to IO)
+         */
+        VIRTUAL
+    }
+
+    private Mode mode = Mode.IO;
+
+    /**
+     * the number of threads in the IO pool
+     */
+    private int poolSize = 32;
+
+    /**
+     * the number of api requests that may wait for an IO pool thread before new requests are rejected
+     */
+    private int queueSize = 512;
+}
@@ -0,0 +1,174 @@
+package depotlifecycle.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor that /api/v2 controllers run on (see {@link ApiExecutionConfiguration}).  Every mode publishes
+ * the standard executor meters under the name {@value #API} - task and queue wait timers, plus pool and queue gauges
+ * for the IO pool - and an in flight gauge, so a request stuck on a lock wait shows up as saturation.
+ */
+@Factory
+public class ApiExecutorFactory {
+    public static final String API = "api";
+    private static final Logger LOG = LoggerFactory.getLogger(ApiExecutorFactory.class);
+
+    @Singleton
+    @Named(API)
+    @Bean(preDestroy = "shutdown")
+    ExecutorService apiExecutor(ApiExecutionConfiguration configuration, MeterRegistry meterRegistry) {
+        ApiExecutionConfiguration.Mode mode = configuration.getMode();
+        ExecutorService executor = switch (mode) {
+            case EVENT_LOOP -> new DirectExecutorService();
+            case IO -> ioPool(configuration);
+            case VIRTUAL -> virtualThreads(configuration);
+        };
+        LOG.info("Api requests will execute using mode {}", mode);
+
+        Tags tags = Tags.of("mode", mode.name());
+        AtomicInteger inFlight = meterRegistry.gauge("depotlifecycle.api.executor.inflight", tags, new AtomicInteger());
+        return new InFlightExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, API, tags), inFlight);
+    }
+
+    /**
+     * The api executor for reactive pipelines, so blocking work in a stream runs where the other api requests do.
+     */
+    @Singleton
+    @Named(API)
+    Scheduler apiScheduler(@Named(API) ExecutorService executor) {
+        return Schedulers.fromExecutorService(executor, API);
+    }
+
+    private static ExecutorService ioPool(ApiExecutionConfiguration configuration) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> new Thread(runnable, "api-executor-" + threads.incrementAndGet());
+        return new ThreadPoolExecutor(configuration.getPoolSize(), configuration.getPoolSize(), 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, configuration.getQueueSize())), threadFactory);
+    }
+
+    private static ExecutorService virtualThreads(ApiExecutionConfiguration configuration) {
+        try {
+            //looked up reflectively so the application still compiles for Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads require Java 21; api requests will execute using mode IO instead");
+            return ioPool(configuration);
+        }
+    }
+
+    /**
+     * Runs each task on the submitting thread, which for api requests is the event loop.
+     */
+    private static final class DirectExecutorService extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+
+    private static final class InFlightExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final AtomicInteger inFlight;
+
+        InFlightExecutorService(ExecutorService delegate, AtomicInteger inFlight) {
+            this.delegate = delegate;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            inFlight.incrementAndGet();
+            Runnable task = () -> {
+                try {
+                    command.run();
+                }
+                finally {
+                    inFlight.decrementAndGet();
+                }
+            };
+
+            try {
+                delegate.execute(task);
+            }
+            catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
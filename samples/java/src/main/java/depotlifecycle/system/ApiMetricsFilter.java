@@ -0,0 +1,99 @@
+package depotlifecycle.system;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.web.router.RouteMatch;
+import io.micronaut.web.router.RouteMatchUtils;
+import io.micronaut.web.router.UriRouteMatch;
+import io.swagger.v3.oas.annotations.Operation;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every api request by route and OpenAPI operation id, so a slow lifecycle step can be told apart from the others
+ * sharing its path (e.g. `saveEstimate` and `indexEstimate`).  Timers publish the p50, p99 and p999 along with a
+ * percentile histogram that can be aggregated across instances.  The size of each request payload is recorded per
+ * operation as well.  Requests that did not match a route are tagged `UNMATCHED`.
+ */
+@ServerFilter("/api/v2/**")
+public class ApiMetricsFilter implements Ordered {
+    public static final String REQUESTS = "depotlifecycle.api.requests";
+    public static final String REQUEST_SIZE = "depotlifecycle.api.request.size";
+    private static final String START_ATTRIBUTE = "depotlifecycle.metrics.start";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+
+    public ApiMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        //time the whole request, including authentication and idempotent replays
+        return ServerFilterPhase.METRICS.order();
+    }
+
+    @RequestFilter
+    public void start(HttpRequest<?> request) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @ResponseFilter
+    public void stop(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Optional<Long> start = request.getAttribute(START_ATTRIBUTE, Long.class);
+        if (start.isEmpty()) {
+            return;
+        }
+
+        Optional<RouteMatch<?>> route = routeMatch(request);
+        String operationId = operationId(request);
+        String uri = route.filter(UriRouteMatch.class::isInstance)
+            .map(match -> ((UriRouteMatch<?, ?>) match).getRouteInfo().getUriMatchTemplate().toPathString())
+            .orElse(UNMATCHED);
+        Tags tags = Tags.of("operationId", operationId, "uri", uri, "method", request.getMethodName());
+
+        Timer.builder(REQUESTS)
+            .description("api requests by route and operation id")
+            .tags(tags.and("status", String.valueOf(response.code())))
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(System.nanoTime() - start.get(), TimeUnit.NANOSECONDS);
+
+        long contentLength = request.getContentLength();
+        if (contentLength >= 0) {
+            DistributionSummary.builder(REQUEST_SIZE)
+                .description("api request payload sizes by operation id")
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(contentLength);
+        }
+    }
+
+    /**
+     * @return the OpenAPI operation id of the route the request matched
+     */
+    public static String operationId(HttpRequest<?> request) {
+        return routeMatch(request)
+            .flatMap(match -> match.getAnnotationMetadata().stringValue(Operation.class, "operationId"))
+            .orElse(UNMATCHED);
+    }
+
+    private static Optional<RouteMatch<?>> routeMatch(HttpRequest<?> request) {
+        return RouteMatchUtils.findRouteMatch(request).map(match -> (RouteMatch<?>) match);
+    }
+}
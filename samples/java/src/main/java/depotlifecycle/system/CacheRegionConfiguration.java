@@ -0,0 +1,34 @@
+package depotlifecycle.system;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@EachProperty(CacheRegionConfiguration.PREFIX)
+@Getter
+@Setter
+public class CacheRegionConfiguration {
+    public static final String PREFIX = "depotlifecycle.cache.regions";
+
+    /**
+     * the second level cache region, as named by the entities and query hints
+     */
+    private final String name;
+
+    /**
+     * the number of entries kept before the least recently used are evicted
+     */
+    private long maximumSize = 1_000;
+
+    /**
+     * how long an entry is kept after it is written, as a guard against changes made outside of the application
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public CacheRegionConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,35 @@
+package depotlifecycle.system;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.HibernateQueryMetrics;
+
+/**
+ * Publishes the Hibernate statistics as the `hibernate.*` meters: session, statement, entity, collection and cache
+ * counts, query execution counts with the time of the slowest query, and a timer per query string.  They are bound at
+ * startup rather than as {@link io.micrometer.core.instrument.binder.MeterBinder} beans, since the entity manager factory
+ * needs the data source, whose pool meters need the registry.
+ */
+@Singleton
+public class HibernateMeters {
+    private static final String SESSION_FACTORY = "default";
+
+    private final SessionFactory sessionFactory;
+    private final MeterRegistry meterRegistry;
+
+    public HibernateMeters(SessionFactory sessionFactory, MeterRegistry meterRegistry) {
+        this.sessionFactory = sessionFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    void onStartup(StartupEvent event) {
+        new HibernateMetrics(sessionFactory, SESSION_FACTORY, Tags.empty()).bindTo(meterRegistry);
+        new HibernateQueryMetrics(sessionFactory, SESSION_FACTORY, Tags.empty()).bindTo(meterRegistry);
+    }
+}
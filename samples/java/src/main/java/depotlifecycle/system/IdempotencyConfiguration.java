@@ -0,0 +1,39 @@
+package depotlifecycle.system;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties(IdempotencyConfiguration.PREFIX)
+@Getter
+@Setter
+public class IdempotencyConfiguration {
+    public static final String PREFIX = "depotlifecycle.idempotency";
+
+    /**
+     * when false, the Idempotency-Key header is ignored
+     */
+    private boolean enabled = true;
+
+    /**
+     * how long a response is replayed for retries with the same key
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * the number of responses kept in memory before the oldest are forgotten
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * how long a retry waits on a request with the same key that has not finished before that request is assumed lost
+     */
+    private Duration inFlightTimeout = Duration.ofMinutes(1);
+
+    /**
+     * when true, responses are also written to the database so they are replayed after a restart
+     */
+    private boolean persistent = false;
+}
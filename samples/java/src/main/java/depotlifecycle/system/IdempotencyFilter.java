@@ -0,0 +1,241 @@
+package depotlifecycle.system;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import depotlifecycle.ErrorResponse;
+import depotlifecycle.system.IdempotencyStore.Claim;
+import depotlifecycle.system.IdempotencyStore.StoredResponse;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.ServerHttpRequest;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.body.ByteBody;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Makes the gate, estimate and photo creates safe to retry.  When a request carries an `Idempotency-Key` header, its
+ * successful response is stored, and a retry with the same key from the same caller to the same path is answered with
+ * that stored response without reaching the controller.  A retry that arrives while the original is still running is
+ * rejected with a 409 instead of being executed twice; a request that fails may be retried with the same key.  A key
+ * reused with a different request body is rejected with a 422.  Both filters run on the blocking executor since a
+ * persistent store reads and writes the database.
+ */
+@ServerFilter(patterns = {"/api/v2/gate", "/api/v2/gate/**", "/api/v2/estimate", "/api/v2/estimate/**", "/api/v2/gatePhoto/**", "/api/v2/estimatePhoto/**"}, methods = HttpMethod.POST)
+@Requires(property = IdempotencyConfiguration.PREFIX + ".enabled", notEquals = "false")
+public class IdempotencyFilter implements Ordered {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String CLAIM_ATTRIBUTE = "depotlifecycle.idempotency.key";
+    private static final String HASH_ATTRIBUTE = "depotlifecycle.idempotency.hash";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getOrder() {
+        //the caller must be authenticated before its keys can be looked up
+        return ServerFilterPhase.SECURITY.after();
+    }
+
+    @RequestFilter
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    @Nullable
+    public HttpResponse<?> replay(HttpRequest<?> request) {
+        String idempotencyKey = request.getHeaders().get(HEADER);
+        if (Objects.isNull(idempotencyKey) || idempotencyKey.isBlank()) {
+            return null;
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        String caller = request.getUserPrincipal().map(Principal::getName).orElse("");
+        String key = IdempotencyStore.key(caller, request.getPath(), idempotencyKey);
+        if (!(request instanceof ServerHttpRequest<?> serverRequest)) {
+            return null;
+        }
+
+        Claim claim = store.claim(key);
+        if (claim.claimed()) {
+            //the body is hashed as the controller reads it, so it is neither buffered nor read twice
+            RequestHash requestHash = new RequestHash(request);
+            serverRequest.byteBody().split(ByteBody.SplitBackpressureMode.ORIGINAL).toByteArrayPublisher().subscribe(requestHash);
+            request.setAttribute(CLAIM_ATTRIBUTE, key);
+            request.setAttribute(HASH_ATTRIBUTE, requestHash);
+            return null;
+        }
+
+        StoredResponse stored = claim.stored();
+        if (Objects.isNull(stored)) {
+            LOG.info("\tIdempotency-Key {} - 409 - Original Request Still In Progress", idempotencyKey);
+            return error(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress.");
+        }
+
+        if (!Objects.isNull(stored.requestHash()) && !stored.requestHash().equals(hash(request, serverRequest.byteBody()))) {
+            LOG.info("\tIdempotency-Key {} - 422 - Reused For A Different Request", idempotencyKey);
+            return error(HttpStatus.UNPROCESSABLE_ENTITY, "This " + HEADER + " was already used for a different request.");
+        }
+
+        LOG.info("\tIdempotency-Key {} - {} - Replaying Stored Response", idempotencyKey, stored.status());
+        MutableHttpResponse<byte[]> response = HttpResponse.<byte[]>status(HttpStatus.valueOf(stored.status()))
+            .header(REPLAYED_HEADER, "true")
+            .body(stored.body());
+        if (!Objects.isNull(stored.contentType())) {
+            response.contentType(stored.contentType());
+        }
+        return response;
+    }
+
+    @ResponseFilter
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    public void remember(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Optional<String> key = request.getAttribute(CLAIM_ATTRIBUTE, String.class);
+        if (key.isEmpty()) {
+            return;
+        }
+
+        Optional<?> body = response.getBody();
+        String requestHash = request.getAttribute(HASH_ATTRIBUTE, RequestHash.class).map(hash -> hash.result.getNow(null)).orElse(null);
+        if (response.code() >= 300 || (body.isPresent() && body.get() instanceof Publisher) || Objects.isNull(requestHash)) {
+            //a response sent before the whole body was read cannot be matched to retries, so they are executed again
+            store.release(key.get());
+            return;
+        }
+
+        try {
+            byte[] bytes = body.isEmpty() ? new byte[0] : body.get() instanceof byte[] raw ? raw : objectMapper.writeValueAsBytes(body.get());
+            store.complete(key.get(), requestHash, response.code(), response.getContentType().map(MediaType::toString).orElse(null), bytes);
+        }
+        catch (JsonProcessingException e) {
+            store.release(key.get());
+            LOG.warn("Unable to store response for {}; retries will be executed again", request.getPath(), e);
+        }
+    }
+
+    private static String hash(HttpRequest<?> request, ByteBody body) {
+        RequestHash requestHash = new RequestHash(request);
+        try (InputStream in = body.toInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                requestHash.update(buffer, read);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return requestHash.finish();
+    }
+
+    /**
+     * Hashes a request body as it arrives.  The multipart boundary is left out, since clients pick a new one for every
+     * request, including retries.
+     */
+    private static final class RequestHash implements Subscriber<byte[]> {
+        private final MessageDigest digest = IdempotencyStore.digest();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final byte[] boundary;
+        //the end of the body read so far that may be the start of a boundary
+        private byte[] pending = new byte[0];
+
+        RequestHash(HttpRequest<?> request) {
+            this.boundary = request.getContentType()
+                .filter(contentType -> contentType.matches(MediaType.MULTIPART_FORM_DATA_TYPE))
+                .flatMap(contentType -> contentType.getParameters().get("boundary"))
+                .map(value -> value.getBytes(StandardCharsets.ISO_8859_1))
+                .orElse(new byte[0]);
+        }
+
+        void update(byte[] bytes, int length) {
+            if (boundary.length == 0) {
+                digest.update(bytes, 0, length);
+                return;
+            }
+
+            byte[] window = Arrays.copyOf(pending, pending.length + length);
+            System.arraycopy(bytes, 0, window, pending.length, length);
+            int start = 0;
+            int i = 0;
+            while (i <= window.length - boundary.length) {
+                if (Arrays.equals(window, i, i + boundary.length, boundary, 0, boundary.length)) {
+                    digest.update(window, start, i - start);
+                    i += boundary.length;
+                    start = i;
+                }
+                else {
+                    i++;
+                }
+            }
+
+            int keep = Math.max(start, window.length - (boundary.length - 1));
+            digest.update(window, start, keep - start);
+            pending = Arrays.copyOfRange(window, keep, window.length);
+        }
+
+        String finish() {
+            digest.update(pending);
+            return IdempotencyStore.hash(digest.digest());
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(byte[] bytes) {
+            update(bytes, bytes.length);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(finish());
+        }
+    }
+
+    private static MutableHttpResponse<ErrorResponse> error(HttpStatus status, String message) {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("ERR000");
+        error.setMessage(message);
+        return HttpResponse.<ErrorResponse>status(status).body(error);
+    }
+}
@@ -0,0 +1,189 @@
+package depotlifecycle.system;
+
+import depotlifecycle.domain.IdempotentResponse;
+import depotlifecycle.repositories.IdempotentResponseRepository;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The responses of recent requests that carried an Idempotency-Key, kept in memory in the order they were stored so the
+ * oldest can be expired or evicted first.  A key is claimed while its request runs, so a retry that arrives before the
+ * original finishes is not executed a second time.  When configured as persistent, responses are also written to the
+ * database and read back on a memory miss, so they survive a restart; callers must then stay off the event loop.
+ */
+@Singleton
+public class IdempotencyStore {
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyConfiguration configuration;
+    private final IdempotentResponseRepository repository;
+    private final LinkedHashMap<String, StoredResponse> responses = new LinkedHashMap<>();
+    private final Map<String, Instant> inFlight = new HashMap<>();
+
+    public IdempotencyStore(IdempotencyConfiguration configuration, IdempotentResponseRepository repository) {
+        this.configuration = configuration;
+        this.repository = repository;
+    }
+
+    /**
+     * @param requestHash the {@link #hash} of the request body that produced the response
+     */
+    public record StoredResponse(String requestHash, int status, @Nullable String contentType, byte[] body, Instant expiresAt) {
+    }
+
+    /**
+     * @param claimed true if the caller now holds the key and must {@link #complete} or {@link #release} it
+     * @param stored  the response to replay, if the key was already completed
+     */
+    public record Claim(boolean claimed, @Nullable StoredResponse stored) {
+    }
+
+    /**
+     * @return a fixed length key for the Idempotency-Key sent by the caller to the path
+     */
+    public static String key(String caller, String path, String idempotencyKey) {
+        MessageDigest digest = digest();
+        return hash(digest.digest((caller + '\n' + path + '\n' + idempotencyKey).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return the hex form of a {@link #digest}, as stored
+     */
+    public static String hash(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * @return a claim on the key, or the stored response for it, or neither if another request holds the key
+     */
+    public Claim claim(String key) {
+        Instant now = Instant.now();
+        synchronized (this) {
+            StoredResponse stored = responses.get(key);
+            if (!Objects.isNull(stored)) {
+                if (stored.expiresAt().isAfter(now)) {
+                    return new Claim(false, stored);
+                }
+                responses.remove(key);
+            }
+
+            Instant claimedAt = inFlight.get(key);
+            if (!Objects.isNull(claimedAt) && claimedAt.plus(configuration.getInFlightTimeout()).isAfter(now)) {
+                return new Claim(false, null);
+            }
+            inFlight.put(key, now);
+        }
+
+        if (configuration.isPersistent()) {
+            Optional<StoredResponse> persisted = load(key, now);
+            if (persisted.isPresent()) {
+                synchronized (this) {
+                    inFlight.remove(key);
+                    remember(key, persisted.get(), now);
+                }
+                return new Claim(false, persisted.get());
+            }
+        }
+
+        return new Claim(true, null);
+    }
+
+    public void complete(String key, String requestHash, int status, @Nullable String contentType, byte[] body) {
+        Instant now = Instant.now();
+        StoredResponse stored = new StoredResponse(requestHash, status, contentType, body, now.plus(configuration.getTtl()));
+        synchronized (this) {
+            inFlight.remove(key);
+            remember(key, stored, now);
+        }
+
+        if (configuration.isPersistent()) {
+            IdempotentResponse response = new IdempotentResponse();
+            response.setId(key);
+            response.setRequestHash(requestHash);
+            response.setStatus(status);
+            response.setContentType(contentType);
+            response.setBody(body);
+            response.setExpiresAt(stored.expiresAt());
+            try {
+                repository.save(response);
+            }
+            catch (RuntimeException e) {
+                LOG.warn("Unable to persist idempotent response; it will only be replayed until a restart", e);
+            }
+        }
+    }
+
+    /**
+     * Gives up a claim without storing a response, so the next retry is executed.
+     */
+    public synchronized void release(String key) {
+        inFlight.remove(key);
+    }
+
+    @Scheduled(fixedDelay = "15m", initialDelay = "15m")
+    void purge() {
+        Instant now = Instant.now();
+        synchronized (this) {
+            evict(now);
+            inFlight.values().removeIf(claimedAt -> !claimedAt.plus(configuration.getInFlightTimeout()).isAfter(now));
+        }
+
+        if (configuration.isPersistent()) {
+            int purged = repository.deleteByExpiresAtLessThan(now);
+            LOG.debug("Purged {} expired idempotent responses", purged);
+        }
+    }
+
+    private void remember(String key, StoredResponse stored, Instant now) {
+        responses.remove(key);
+        responses.put(key, stored);
+        evict(now);
+    }
+
+    private void evict(Instant now) {
+        Iterator<StoredResponse> oldest = responses.values().iterator();
+        while (oldest.hasNext()) {
+            StoredResponse stored = oldest.next();
+            if (responses.size() <= configuration.getMaxEntries() && stored.expiresAt().isAfter(now)) {
+                break;
+            }
+            oldest.remove();
+        }
+    }
+
+    private Optional<StoredResponse> load(String key, Instant now) {
+        try {
+            return repository.findById(key)
+                .filter(response -> response.getExpiresAt().isAfter(now))
+                .map(response -> new StoredResponse(response.getRequestHash(), response.getStatus(), response.getContentType(), response.getBody(), response.getExpiresAt()));
+        }
+        catch (RuntimeException e) {
+            LOG.warn("Unable to read persisted idempotent response", e);
+            return Optional.empty();
+        }
+    }
+}
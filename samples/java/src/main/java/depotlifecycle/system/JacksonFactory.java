@@ -0,0 +1,22 @@
+package depotlifecycle.system;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Singleton;
+
+/**
+ * Jackson modules that Micronaut registers with every object mapper it creates.
+ */
+@Factory
+public class JacksonFactory {
+    /**
+     * Serializes lazily loaded parties and collections by what they proxy.  Responses are written after the session is
+     * closed, so every association a response includes is loaded by the query that read it; anything left unloaded is
+     * written as null rather than loaded.
+     */
+    @Singleton
+    Module hibernateModule() {
+        return new Hibernate6Module();
+    }
+}
@@ -0,0 +1,38 @@
+package depotlifecycle.system;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micronaut.context.annotation.Factory;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Meters that Micronaut does not bind on its own; every {@link MeterBinder} and {@link MeterFilter} bean is applied to
+ * the registries.  Hibernate statistics are bound by {@link HibernateMeters}.
+ */
+@Factory
+public class MetricsFactory {
+    /**
+     * Publishes the p50, p99 and p999 and a percentile histogram for the connection pool wait and usage timers, the
+     * way the api request timers are published.
+     */
+    @Singleton
+    @Named("connectionPoolDistributions")
+    MeterFilter connectionPoolDistributions() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith("hikaricp.connections.")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                    .percentiles(0.5, 0.99, 0.999)
+                    .percentilesHistogram(true)
+                    .build()
+                    .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package depotlifecycle.system;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@ConfigurationProperties(OutboxConfiguration.PREFIX)
+@Getter
+@Setter
+public class OutboxConfiguration {
+    public static final String PREFIX = "depotlifecycle.outbox";
+
+    /**
+     * when false, queued messages are not delivered until it is enabled again
+     */
+    private boolean enabled = true;
+
+    /**
+     * how often the outbox is checked for messages that are due
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * the most messages read from the outbox at a time
+     */
+    private int batchSize = 100;
+
+    /**
+     * the most ordering keys delivered to at the same time; messages for one key are always sent one at a time
+     */
+    private int concurrency = 4;
+
+    /**
+     * the wait before the first retry of a failed delivery; it doubles on every further failure
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    /**
+     * the longest wait between retries
+     */
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * the number of deliveries tried before a message is marked failed
+     */
+    private int maxAttempts = 20;
+
+    /**
+     * how long delivered messages are kept
+     */
+    private Duration retention = Duration.ofDays(1);
+}
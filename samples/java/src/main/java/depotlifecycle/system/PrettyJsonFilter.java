@@ -0,0 +1,51 @@
+package depotlifecycle.system;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Api responses are written as compact json; a client that is reading them by hand can add `pretty=true` to any
+ * request to have that response indented instead.
+ */
+@ServerFilter("/api/v2/**")
+public class PrettyJsonFilter {
+    public static final String PRETTY_PARAMETER = "pretty";
+    private static final Logger LOG = LoggerFactory.getLogger(PrettyJsonFilter.class);
+
+    private final ObjectWriter prettyWriter;
+
+    public PrettyJsonFilter(ObjectMapper objectMapper) {
+        this.prettyWriter = objectMapper.writerWithDefaultPrettyPrinter();
+    }
+
+    @ResponseFilter
+    public void prettyPrint(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (!request.getParameters().get(PRETTY_PARAMETER, Boolean.class).orElse(false)) {
+            return;
+        }
+
+        //streamed bodies are written as they are produced and are left compact
+        Optional<?> body = response.getBody();
+        if (body.isEmpty() || body.get() instanceof byte[] || body.get() instanceof Publisher || !response.getContentType().map(MediaType.APPLICATION_JSON_TYPE::matches).orElse(true)) {
+            return;
+        }
+
+        try {
+            response.body(prettyWriter.writeValueAsBytes(body.get())).contentType(MediaType.APPLICATION_JSON_TYPE);
+        }
+        catch (JsonProcessingException e) {
+            LOG.warn("Unable to pretty print response for {}", request.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package depotlifecycle.system;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.jdbc.DataSourceResolver;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Verifies at startup that every natural key lookup made by the repositories is backed by an index, so a schema that
+ * was created or migrated by other means does not silently fall back to full table scans.  An index backs a lookup when
+ * its leading columns are exactly the columns of the lookup, in any order.  Table and column names are compared without
+ * case or underscores so the check does not depend on the naming strategy.
+ */
+@Singleton
+public class SchemaIndexCheck {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    static final List<Lookup> LOOKUPS = List.of(
+        new Lookup("Estimate", "estimateNumber", "depot_id"),
+        new Lookup("Estimate", "unitNumber"),
+        new Lookup("EstimateCancelRequest", "estimateNumber", "depot_id"),
+        new Lookup("GateCreateRequest", "adviceNumber", "unitNumber", "type"),
+        new Lookup("GateCreateRequest", "unitNumber"),
+        new Lookup("GateDeleteRequest", "adviceNumber", "unitNumber", "depot_id"),
+        new Lookup("GateDeleteRequest", "unitNumber"),
+        new Lookup("GateUpdateRequest", "unitNumber"),
+        new Lookup("Party", "companyId"),
+        new Lookup("Release", "releaseNumber"),
+        new Lookup("Redelivery", "redeliveryNumber"),
+        new Lookup("RedeliveryUnit", "unitNumber"),
+        new Lookup("WorkOrder", "workOrderNumber"),
+        new Lookup("WorkOrderUnit", "unitNumber"),
+        new Lookup("UnitEquipment", "equipmentCode", "unitNumber"),
+        new Lookup("Estimate_EstimateLineItem", "Estimate_id"),
+        new Lookup("EstimateLineItem_EstimateLineItemPart", "EstimateLineItem_id"),
+        new Lookup("Redelivery_RedeliveryDetail", "Redelivery_id"),
+        new Lookup("RedeliveryDetail_RedeliveryUnit", "RedeliveryDetail_id"),
+        new Lookup("Release_ReleaseDetail", "Release_id"),
+        new Lookup("ReleaseDetail_ReleaseUnit", "ReleaseDetail_id"),
+        new Lookup("WorkOrder_WorkOrderUnit", "WorkOrder_id")
+    );
+
+    private final DataSource dataSource;
+    private final boolean required;
+
+    public SchemaIndexCheck(DataSource dataSource, DataSourceResolver dataSourceResolver, @Value("${depotlifecycle.schema.require-indexes:false}") boolean required) {
+        //the injected data source only hands out the connection of the current transaction
+        this.dataSource = dataSourceResolver.resolve(dataSource);
+        this.required = required;
+    }
+
+    record Lookup(String table, String... columns) {
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+
+    @EventListener
+    void onStartup(ServerStartupEvent event) {
+        List<Lookup> missing;
+        try {
+            missing = missing();
+        }
+        catch (SQLException | IllegalStateException e) {
+            LOG.warn("Unable to read the database indexes; lookups could not be verified", e);
+            return;
+        }
+
+        if (missing.isEmpty()) {
+            LOG.info("Verified the indexes of {} natural key lookups", LOOKUPS.size());
+            return;
+        }
+
+        for (Lookup lookup : missing) {
+            LOG.warn("No index backs the lookup on {}", lookup);
+        }
+        if (required) {
+            throw new IllegalStateException(missing.size() + " natural key lookups have no index: " + missing);
+        }
+    }
+
+    /**
+     * @return the lookups without a backing index
+     */
+    List<Lookup> missing() throws SQLException {
+        List<Lookup> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, String> tables = tables(metaData);
+            Map<String, List<Set<String>>> indexes = new HashMap<>();
+            for (Lookup lookup : LOOKUPS) {
+                String table = tables.get(normalize(lookup.table()));
+                if (Objects.isNull(table)) {
+                    missing.add(lookup);
+                    continue;
+                }
+
+                Set<String> columns = new HashSet<>();
+                for (String column : lookup.columns()) {
+                    columns.add(normalize(column));
+                }
+
+                List<Set<String>> prefixes = indexes.computeIfAbsent(table, name -> prefixes(metaData, name));
+                if (!prefixes.contains(columns)) {
+                    missing.add(lookup);
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static Map<String, String> tables(DatabaseMetaData metaData) throws SQLException {
+        Map<String, String> tables = new HashMap<>();
+        try (ResultSet rs = metaData.getTables(null, null, "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                tables.putIfAbsent(normalize(rs.getString("TABLE_NAME")), rs.getString("TABLE_NAME"));
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * @return every leading column set of every index and the primary key of the table
+     */
+    private static List<Set<String>> prefixes(DatabaseMetaData metaData, String table) {
+        Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+        try {
+            try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+                while (rs.next()) {
+                    if (!Objects.isNull(rs.getString("COLUMN_NAME"))) {
+                        indexes.computeIfAbsent(rs.getString("INDEX_NAME"), name -> new TreeMap<>()).put(rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+            try (ResultSet rs = metaData.getPrimaryKeys(null, null, table)) {
+                while (rs.next()) {
+                    indexes.computeIfAbsent("PRIMARY KEY", name -> new TreeMap<>()).put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        catch (SQLException e) {
+            throw new IllegalStateException("Unable to read the indexes of " + table, e);
+        }
+
+        List<Set<String>> prefixes = new ArrayList<>();
+        for (TreeMap<Short, String> columns : indexes.values()) {
+            Set<String> prefix = new HashSet<>();
+            for (String column : columns.values()) {
+                prefix.add(normalize(column));
+                prefixes.add(new HashSet<>(prefix));
+            }
+        }
+        return prefixes;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").replace("\"", "").toUpperCase(Locale.ROOT);
+    }
+}
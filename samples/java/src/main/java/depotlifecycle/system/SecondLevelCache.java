@@ -0,0 +1,88 @@
+package depotlifecycle.system;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micronaut.configuration.hibernate.jpa.JpaConfiguration;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the Caffeine regions of the Hibernate second level cache from the region configuration, before the entity
+ * manager factory is built, and hands the cache manager to Hibernate.  Hibernate is set to fail on a region that was
+ * not configured, so every cached entity and query must name one of the configured regions.  The hits and misses of
+ * every region are published as the `cache.gets` metric; the regions are bound as a meter binder rather than with an
+ * injected registry since the registry's Hibernate meters need the entity manager factory.
+ */
+@Singleton
+public class SecondLevelCache implements BeanCreatedEventListener<JpaConfiguration>, MeterBinder {
+    /**
+     * the regions Hibernate always uses once the query cache is enabled; the timestamps must outlive every cached
+     * query result, so that region is never expired
+     */
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final Logger LOG = LoggerFactory.getLogger(SecondLevelCache.class);
+
+    private final List<CacheRegionConfiguration> regions;
+
+    public SecondLevelCache(List<CacheRegionConfiguration> regions) {
+        this.regions = regions;
+    }
+
+    @Override
+    public JpaConfiguration onCreated(BeanCreatedEvent<JpaConfiguration> event) {
+        event.getBean().getProperties().put("hibernate.javax.cache.cache_manager", cacheManager());
+        return event.getBean();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        CacheManager cacheManager = cacheManager();
+        for (String name : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(name));
+        }
+    }
+
+    /**
+     * @return the cache manager, after creating any region that does not exist yet
+     */
+    private synchronized CacheManager cacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (CacheRegionConfiguration region : regions) {
+            create(cacheManager, region.getName(), OptionalLong.of(region.getMaximumSize()), region.getTtl().toMillis());
+        }
+        create(cacheManager, QUERY_RESULTS_REGION, OptionalLong.of(1_000), 0);
+        create(cacheManager, TIMESTAMPS_REGION, OptionalLong.empty(), 0);
+        return cacheManager;
+    }
+
+    private static void create(CacheManager cacheManager, String name, OptionalLong maximumSize, long ttlMillis) {
+        if (!Objects.isNull(cacheManager.getCache(name))) {
+            return;
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        if (ttlMillis > 0) {
+            configuration.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(new javax.cache.expiry.Duration(TimeUnit.MILLISECONDS, ttlMillis)));
+        }
+        configuration.setStatisticsEnabled(true);
+
+        cacheManager.createCache(name, configuration);
+        LOG.info("Created second level cache region {} holding up to {} entries", name, maximumSize.isPresent() ? maximumSize.getAsLong() : "unbounded");
+    }
+}
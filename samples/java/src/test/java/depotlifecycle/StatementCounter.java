@@ -0,0 +1,50 @@
+package depotlifecycle;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import jakarta.inject.Singleton;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the sql statements Hibernate prepares while an api call is made, so tests can assert that an endpoint reads a
+ * fixed number of statements however many rows it returns.
+ */
+@Singleton
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(SessionFactory sessionFactory) {
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    /**
+     * The response of an api call and the number of statements prepared while it was made.
+     */
+    public record Counted<T>(T response, long statements) {
+        public T assertAtMost(long expected) {
+            assertTrue(statements <= expected, "expected at most " + expected + " sql statements, but " + statements + " were prepared");
+            return response;
+        }
+    }
+
+    public <T> Counted<T> count(Supplier<T> call) {
+        statistics.clear();
+        T response = call.get();
+        return new Counted<>(response, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * @return the authorization header value for the user that validates every message
+     */
+    @SuppressWarnings("unchecked")
+    public static String login(HttpClient client) {
+        Map<String, Object> response = client.toBlocking().retrieve(HttpRequest.POST("/api/login", Map.of("username", "validate", "password", "validate")), Map.class);
+        return "Bearer " + response.get("access_token");
+    }
+}
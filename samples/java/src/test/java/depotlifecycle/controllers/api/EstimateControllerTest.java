@@ -0,0 +1,104 @@
+package depotlifecycle.controllers.api;
+
+import depotlifecycle.StatementCounter;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MicronautTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Property(name = "depotlifecycle.outbox.enabled", value = "false")
+class EstimateControllerTest {
+    private static final int ESTIMATES = 5;
+    private static final String ESTIMATE = """
+        {"estimateNumber":"DEHAMCE000000%1$d","unitNumber":"CONU123456%1$d","condition":"D","estimateTime":"2026-10-01T10:00:00Z","revision":0,
+         "depot":{"companyId":"DEHAMCMRA","phoneNumber":["+49 40 1234"],"streetAddress":["Hafenstrasse 1"]},
+         "customer":{"companyId":"GBLONCUS%1$d","emailAddress":["customer%1$d@example.com"]},
+         "owner":{"companyId":"USSFOEXAM"},
+         "currency":"EUR","total":100.00,"exchangeRate":1.0,
+         "lineItems":[
+           {"line":1,"repair":"RP","damage":"CU","material":"SS","component":"PAA","location":"DB1N","hours":2.0,"materialCost":50.00,"laborRate":25.00,"party":"O","quantity":1,
+            "parts":[{"number":"P1","quantity":1,"price":10.00,"description":"bolt"}]},
+           {"line":2,"repair":"RP","damage":"DT","material":"SS","component":"PAA","location":"DB2N","hours":1.0,"materialCost":10.00,"laborRate":25.00,"party":"U","quantity":1}]}
+        """;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    StatementCounter statements;
+
+    String authorization;
+
+    @BeforeAll
+    void createEstimates() {
+        authorization = StatementCounter.login(client);
+        for (int i = 1; i <= ESTIMATES; i++) {
+            client.toBlocking().exchange(HttpRequest.POST("/api/v2/estimate", ESTIMATE.formatted(i)).header("Authorization", authorization));
+        }
+        //reads each party once, so the counts below are not of a cold second level cache
+        search("/api/v2/estimate?depot=DEHAMCMRA");
+    }
+
+    /**
+     * The estimate, its parties, approval and allocation are read with one statement, and each collection of the page
+     * with one more, so a page of estimates is read with as many statements as a single estimate.
+     */
+    @Test
+    void fullViewReadsAFixedNumberOfStatements() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/estimate?depot=DEHAMCMRA")).assertAtMost(5);
+
+        assertEquals(ESTIMATES, found.size());
+        Map<String, Object> estimate = found.get(0);
+        assertEquals(List.of("+49 40 1234"), ((Map<?, ?>) estimate.get("depot")).get("phoneNumber"));
+        assertEquals(List.of("customer1@example.com"), ((Map<?, ?>) estimate.get("customer")).get("emailAddress"));
+        assertEquals(2, ((List<?>) estimate.get("lineItems")).size());
+        assertEquals(1, ((List<?>) ((Map<?, ?>) ((List<?>) estimate.get("lineItems")).get(0)).get("parts")).size());
+        assertEquals("FIX", ((Map<?, ?>) ((Map<?, ?>) estimate.get("allocation")).get("preliminaryDecision")).get("recommendation"));
+        assertEquals("DEHAMCMRA", ((Map<?, ?>) ((Map<?, ?>) estimate.get("allocation")).get("depot")).get("companyId"));
+    }
+
+    @Test
+    void summaryViewReadsOneStatement() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/estimate?depot=DEHAMCMRA&view=SUMMARY")).assertAtMost(1);
+
+        assertEquals(ESTIMATES, found.size());
+        assertEquals("DEHAMCMRA", found.get(0).get("depot"));
+    }
+
+    @Test
+    void revisionReadsAFixedNumberOfStatements() {
+        Map<String, Object> found = statements.count(() -> client.toBlocking().retrieve(HttpRequest.GET("/api/v2/estimate/DEHAMCE0000002?depot=DEHAMCMRA")
+            .header("Authorization", authorization), Argument.mapOf(String.class, Object.class))).assertAtMost(5);
+
+        assertEquals("CONU1234562", found.get("unitNumber"));
+        assertEquals(List.of("Hafenstrasse 1"), ((Map<?, ?>) found.get("depot")).get("streetAddress"));
+    }
+
+    @Test
+    void approvalReadsAndWritesAFixedNumberOfStatements() {
+        Map<String, Object> allocation = statements.count(() -> client.toBlocking().retrieve(HttpRequest.PUT("/api/v2/estimate/DEHAMCE0000003?depot=DEHAMCMRA",
+                "{\"approvalNumber\":\"A1\",\"approvalDateTime\":\"2026-10-02T10:00:00Z\",\"approvalTotal\":100.00}")
+            .header("Authorization", authorization), Argument.mapOf(String.class, Object.class))).assertAtMost(4);
+
+        assertEquals("DEHAMCE0000003", allocation.get("estimateNumber"));
+        assertEquals(List.of("+49 40 1234"), ((Map<?, ?>) allocation.get("depot")).get("phoneNumber"));
+    }
+
+    private List<Map<String, Object>> search(String uri) {
+        return client.toBlocking().retrieve(HttpRequest.GET(uri).header("Authorization", authorization), Argument.listOf(Argument.mapOf(String.class, Object.class)));
+    }
+}
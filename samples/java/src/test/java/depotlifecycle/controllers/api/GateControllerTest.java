@@ -0,0 +1,52 @@
+package depotlifecycle.controllers.api;
+
+import depotlifecycle.StatementCounter;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MicronautTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Property(name = "depotlifecycle.outbox.enabled", value = "false")
+class GateControllerTest {
+    private static final String GATE = """
+        {"adviceNumber":"AHAMG33141","unitNumber":"CONU1234561","status":"D","activityTime":"2026-10-03T10:00:00Z","type":"IN",
+         "depot":{"companyId":"DEHAMCMRA","phoneNumber":["+49 40 1234"],"streetAddress":["Hafenstrasse 1"]}}
+        """;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    StatementCounter statements;
+
+    String authorization;
+
+    @BeforeAll
+    void createGate() {
+        authorization = StatementCounter.login(client);
+        client.toBlocking().exchange(HttpRequest.POST("/api/v2/gate", GATE).header("Authorization", authorization));
+    }
+
+    @Test
+    void statusIsReadFromTheUnitStateIndex() {
+        Map<String, Object> status = statements.count(() -> client.toBlocking().retrieve(HttpRequest.GET("/api/v2/gate/CONU1234561")
+            .header("Authorization", authorization), Argument.mapOf(String.class, Object.class))).assertAtMost(0);
+
+        assertEquals("AHAMG33141", status.get("adviceNumber"));
+        assertEquals(List.of("+49 40 1234"), ((Map<?, ?>) status.get("depot")).get("phoneNumber"));
+    }
+}
@@ -0,0 +1,92 @@
+package depotlifecycle.controllers.api;
+
+import depotlifecycle.StatementCounter;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MicronautTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Property(name = "depotlifecycle.outbox.enabled", value = "false")
+class RedeliveryControllerTest {
+    private static final int REDELIVERIES = 5;
+    private static final String REDELIVERY = """
+        {"redeliveryNumber":"AHAMG00000%1$d","approvalDate":"2026-10-1%1$dT20:56:09Z","expirationDate":"2099-02-18T20:56:09Z","status":"APPROVED",
+         "comments":["redelivery comment %1$d"],"estimateEmailRecipients":["estimates%1$d@example.com"],"quantity":1,
+         "depot":{"companyId":"DEHAMCMRA"},"owner":{"companyId":"USSFOEXAM"},"recipient":{"companyId":"DEHAMCMRA"},
+         "details":[{"customer":{"companyId":"GBLONCUS%1$d","phoneNumber":["+44 20 000%1$d"]},"contract":"EXCUST01-100000","equipment":"22G1","grade":"IICL","quantity":1,
+           "insuranceCoverage":{"amountCovered":2000.00,"amountCurrency":"USD","allOrNothing":false,"exclusions":["Exclusion %1$d"]},
+           "units":[{"unitNumber":"CONU7654321","manufactureDate":"2012-01-01","status":"TIED","inspectionCriteria":"IICL",
+             "comments":["unit comment %1$d"],"technicalBulletins":["TB-%1$d"],
+             "lastOnHireLocation":{"companyId":"DEHAMCMRB"},"billingParty":{"companyId":"DEHAMCMRA"},
+             "machineryInfo":{"manufacturer":"CARRIER","modelName":"69NT40"}}]}]}
+        """;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    StatementCounter statements;
+
+    String authorization;
+
+    @BeforeAll
+    void createRedeliveries() {
+        authorization = StatementCounter.login(client);
+        for (int i = 1; i <= REDELIVERIES; i++) {
+            client.toBlocking().exchange(HttpRequest.POST("/api/v2/redelivery", REDELIVERY.formatted(i)).header("Authorization", authorization));
+        }
+        //reads each party once, so the counts below are not of a cold second level cache
+        search("/api/v2/redelivery?unitNumber=CONU7654321");
+    }
+
+    @Test
+    void searchByUnitReadsAFixedNumberOfStatements() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/redelivery?unitNumber=CONU7654321")).assertAtMost(13);
+
+        assertEquals(REDELIVERIES, found.size());
+        for (int i = 0; i < REDELIVERIES; i++) {
+            //most recently approved first
+            assertRedelivery(found.get(i), REDELIVERIES - i);
+        }
+    }
+
+    @Test
+    void searchByNumberReadsAFixedNumberOfStatements() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/redelivery?redeliveryNumber=AHAMG000003")).assertAtMost(13);
+
+        assertEquals(1, found.size());
+        assertRedelivery(found.get(0), 3);
+    }
+
+    private List<Map<String, Object>> search(String uri) {
+        return client.toBlocking().retrieve(HttpRequest.GET(uri).header("Authorization", authorization), Argument.listOf(Argument.mapOf(String.class, Object.class)));
+    }
+
+    private static void assertRedelivery(Map<String, Object> redelivery, int number) {
+        assertEquals("AHAMG00000" + number, redelivery.get("redeliveryNumber"));
+        assertEquals(List.of("redelivery comment " + number), redelivery.get("comments"));
+        assertEquals(List.of("estimates" + number + "@example.com"), redelivery.get("estimateEmailRecipients"));
+        Map<?, ?> detail = (Map<?, ?>) ((List<?>) redelivery.get("details")).get(0);
+        assertEquals(List.of("+44 20 000" + number), ((Map<?, ?>) detail.get("customer")).get("phoneNumber"));
+        assertEquals(List.of("Exclusion " + number), ((Map<?, ?>) detail.get("insuranceCoverage")).get("exclusions"));
+        Map<?, ?> unit = (Map<?, ?>) ((List<?>) detail.get("units")).get(0);
+        assertEquals(List.of("unit comment " + number), unit.get("comments"));
+        assertEquals(List.of("TB-" + number), unit.get("technicalBulletins"));
+        assertEquals("DEHAMCMRB", ((Map<?, ?>) unit.get("lastOnHireLocation")).get("companyId"));
+        assertEquals("69NT40", ((Map<?, ?>) unit.get("machineryInfo")).get("modelName"));
+    }
+}
@@ -0,0 +1,83 @@
+package depotlifecycle.controllers.api;
+
+import depotlifecycle.StatementCounter;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@MicronautTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Property(name = "depotlifecycle.outbox.enabled", value = "false")
+class ReleaseControllerTest {
+    private static final int RELEASES = 5;
+    private static final String RELEASE = """
+        {"releaseNumber":"RHAMG00000%1$d","status":"APPROVED","type":"BOOK","approvalDate":"2026-10-13T20:56:09Z","expirationDate":"2099-02-18T20:56:09Z",
+         "comments":["release comment %1$d"],"quantity":1,
+         "depot":{"companyId":"DEHAMCMRA"},"owner":{"companyId":"USSFOEXAM"},"recipient":{"companyId":"DEHAMCMRA"},
+         "details":[{"customer":{"companyId":"GBLONCUS%1$d","phoneNumber":["+44 20 000%1$d"]},"contract":"EXCUST01-100000","equipment":"42G1","grade":"IICL","quantity":1,
+           "criteria":[{"fieldName":"Minimum Tonnage","fieldId":"MINTON","fieldDescription":"the minimum tonnage","fieldValue":"30"}],
+           "units":[{"unitNumber":"CONU000000%1$d","comments":["unit comment %1$d"],"status":"TIED"}]}]}
+        """;
+
+    @Inject
+    @Client("/")
+    HttpClient client;
+
+    @Inject
+    StatementCounter statements;
+
+    String authorization;
+
+    @BeforeAll
+    void createReleases() {
+        authorization = StatementCounter.login(client);
+        for (int i = 1; i <= RELEASES; i++) {
+            client.toBlocking().exchange(HttpRequest.POST("/api/v2/release", RELEASE.formatted(i)).header("Authorization", authorization));
+        }
+        //reads each party once, so the counts below are not of a cold second level cache
+        search("/api/v2/release?depot=DEHAMCMRA");
+    }
+
+    @Test
+    void findReadsAFixedNumberOfStatements() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/release?releaseNumber=RHAMG000002")).assertAtMost(7);
+
+        assertEquals(1, found.size());
+        assertRelease(found.get(0), 2);
+    }
+
+    @Test
+    void searchReadsAFixedNumberOfStatements() {
+        List<Map<String, Object>> found = statements.count(() -> search("/api/v2/release?depot=DEHAMCMRA&expiresAfter=2099-01-01T00:00:00Z")).assertAtMost(7);
+
+        assertEquals(RELEASES, found.size());
+        for (int i = 1; i <= RELEASES; i++) {
+            assertRelease(found.get(i - 1), i);
+        }
+    }
+
+    private List<Map<String, Object>> search(String uri) {
+        return client.toBlocking().retrieve(HttpRequest.GET(uri).header("Authorization", authorization), Argument.listOf(Argument.mapOf(String.class, Object.class)));
+    }
+
+    private static void assertRelease(Map<String, Object> release, int number) {
+        assertEquals("RHAMG00000" + number, release.get("releaseNumber"));
+        assertEquals(List.of("release comment " + number), release.get("comments"));
+        Map<?, ?> detail = (Map<?, ?>) ((List<?>) release.get("details")).get(0);
+        assertEquals(List.of("+44 20 000" + number), ((Map<?, ?>) detail.get("customer")).get("phoneNumber"));
+        assertEquals(1, ((List<?>) detail.get("criteria")).size());
+        assertEquals(List.of("unit comment " + number), ((Map<?, ?>) ((List<?>) detail.get("units")).get(0)).get("comments"));
+    }
+}